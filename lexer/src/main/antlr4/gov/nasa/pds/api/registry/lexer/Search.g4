@@ -1,13 +1,19 @@
 grammar Search;
 
 query : queryTerm EOF ; 
-queryTerm : comparison | likeComparison | group ;
+queryTerm : comparison | likeComparison | inComparison | existsComparison | betweenComparison | group ;
 group : NOT? LPAREN expression RPAREN ;
 expression : andStatement | orStatement | queryTerm ;
 andStatement : queryTerm (AND queryTerm)+ ;
 orStatement : queryTerm (OR queryTerm)+ ;
-comparison : FIELD operator ( NUMBER | STRINGVAL ) ;
-likeComparison : FIELD NOT? LIKE STRINGVAL ;
+comparison : field operator ( NUMBER | STRINGVAL ) ;
+likeComparison : field NOT? LIKE STRINGVAL ;
+inComparison : field NOT? IN LPAREN value ( COMMA value )* RPAREN ;
+existsComparison : field NOT? EXISTS ;
+betweenComparison : field NOT? BETWEEN value AND value ;
+value : NUMBER | STRINGVAL ;
+// the keywords of the newer comparisons were valid field names before, so they still are
+field : FIELD | IN | EXISTS | BETWEEN ;
 operator : EQ | NE | GT | GE | LT | LE ;
 
 NOT : 'not' ;
@@ -20,9 +26,13 @@ LT : 'lt' ;
 LE : 'le' ;
 
 LIKE: 'like';
+IN : 'in' ;
+EXISTS : 'exists' ;
+BETWEEN : 'between' ;
 
 LPAREN : '(' ;
 RPAREN : ')' ;
+COMMA : ',' ;
 
 AND : 'AND' | 'and' ;
 OR  : 'OR' | 'or' ;
@@ -1,6 +1,9 @@
 package api.pds.nasa.gov.api_search_query_lexer;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CodePointCharStream;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -17,14 +20,19 @@ import gov.nasa.pds.api.registry.lexer.SearchLexer;
 import gov.nasa.pds.api.registry.lexer.SearchListener;
 import gov.nasa.pds.api.registry.lexer.SearchParser;
 import gov.nasa.pds.api.registry.lexer.SearchParser.AndStatementContext;
+import gov.nasa.pds.api.registry.lexer.SearchParser.BetweenComparisonContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.ComparisonContext;
+import gov.nasa.pds.api.registry.lexer.SearchParser.ExistsComparisonContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.ExpressionContext;
+import gov.nasa.pds.api.registry.lexer.SearchParser.FieldContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.GroupContext;
+import gov.nasa.pds.api.registry.lexer.SearchParser.InComparisonContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.LikeComparisonContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.OperatorContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.OrStatementContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.QueryContext;
 import gov.nasa.pds.api.registry.lexer.SearchParser.QueryTermContext;
+import gov.nasa.pds.api.registry.lexer.SearchParser.ValueContext;
 
 import org.junit.jupiter.api.Assertions;
 
@@ -33,6 +41,8 @@ public class TestParsing implements ParseTreeListener, SearchListener
 {
 	TerminalNode field=null, number=null, strval=null;
 	boolean isNot = false;
+	List<String> values = new ArrayList<String>();
+	String rule = null;
 
 	@Test
 	public void testNumber()
@@ -116,6 +126,82 @@ public class TestParsing implements ParseTreeListener, SearchListener
     }
 	
     
+    @Test
+    public void testIn()
+    {
+        String queryString = "target not in (\"a\", \"b\",3)";
+        CodePointCharStream input = CharStreams.fromString(queryString);
+        SearchLexer lex = new SearchLexer(input);
+        CommonTokenStream tokens = new CommonTokenStream(lex);
+        SearchParser par = new SearchParser(tokens);
+        ParseTree tree = par.query();
+        ParseTreeWalker walker = new ParseTreeWalker();
+        walker.walk(this, tree);
+
+        Assertions.assertEquals(this.rule, "in");
+        Assertions.assertEquals(this.field.getText(), "target");
+        Assertions.assertEquals(this.values, List.of("\"a\"", "\"b\"", "3"));
+        Assertions.assertEquals(this.isNot, true);
+    }
+
+
+    @Test
+    public void testExists()
+    {
+        String queryString = "( title exists and description not exists )";
+        CodePointCharStream input = CharStreams.fromString(queryString);
+        SearchLexer lex = new SearchLexer(input);
+        CommonTokenStream tokens = new CommonTokenStream(lex);
+        SearchParser par = new SearchParser(tokens);
+        ParseTree tree = par.query();
+        ParseTreeWalker walker = new ParseTreeWalker();
+        walker.walk(this, tree);
+
+        Assertions.assertEquals(par.getNumberOfSyntaxErrors(), 0);
+        Assertions.assertEquals(this.rule, "exists");
+        Assertions.assertEquals(this.field.getText(), "description");
+        Assertions.assertEquals(this.isNot, true);
+    }
+
+
+    @Test
+    public void testBetween()
+    {
+        String queryString = "( start_date_time between \"2016-09-09\" and \"2020-09-11\" and lid eq 1 )";
+        CodePointCharStream input = CharStreams.fromString(queryString);
+        SearchLexer lex = new SearchLexer(input);
+        CommonTokenStream tokens = new CommonTokenStream(lex);
+        SearchParser par = new SearchParser(tokens);
+        ParseTree tree = par.query();
+        ParseTreeWalker walker = new ParseTreeWalker();
+        walker.walk(this, tree);
+
+        Assertions.assertEquals(par.getNumberOfSyntaxErrors(), 0);
+        Assertions.assertEquals(this.rule, "between");
+        Assertions.assertEquals(this.values, List.of("\"2016-09-09\"", "\"2020-09-11\""));
+        Assertions.assertEquals(this.field.getText(), "lid");
+    }
+
+
+    @Test
+    public void testKeywordsAreFieldNames()
+    {
+        String queryString = "( in in (1, 2) and exists between 1 and 2 and between exists )";
+        CodePointCharStream input = CharStreams.fromString(queryString);
+        SearchLexer lex = new SearchLexer(input);
+        CommonTokenStream tokens = new CommonTokenStream(lex);
+        SearchParser par = new SearchParser(tokens);
+        ParseTree tree = par.query();
+        ParseTreeWalker walker = new ParseTreeWalker();
+        walker.walk(this, tree);
+
+        Assertions.assertEquals(par.getNumberOfSyntaxErrors(), 0);
+        Assertions.assertEquals(this.rule, "exists");
+        Assertions.assertEquals(this.field.getText(), "between");
+        Assertions.assertEquals(this.values, List.of("1", "2", "1", "2"));
+    }
+
+
 	@Test
 	void testTemporalRange()
 	{
@@ -221,7 +307,6 @@ public class TestParsing implements ParseTreeListener, SearchListener
     @Override
     public void enterComparison(ComparisonContext ctx)
     {
-        this.field = ctx.FIELD();
         this.number = ctx.NUMBER();
         this.strval = ctx.STRINGVAL();
     }
@@ -278,7 +363,6 @@ public class TestParsing implements ParseTreeListener, SearchListener
     @Override
     public void enterLikeComparison(LikeComparisonContext ctx)
     {
-        this.field = ctx.FIELD();
         this.strval = ctx.STRINGVAL();
         
         String op = ctx.getChild(1).getText();
@@ -293,4 +377,72 @@ public class TestParsing implements ParseTreeListener, SearchListener
     }
 
 	
+    @Override
+    public void enterInComparison(InComparisonContext ctx)
+    {
+        this.rule = "in";
+        this.isNot = ctx.NOT() != null;
+    }
+
+    @Override
+    public void exitInComparison(InComparisonContext ctx)
+    {
+        // TODO Auto-generated method stub
+
+    }
+
+    @Override
+    public void enterExistsComparison(ExistsComparisonContext ctx)
+    {
+        this.rule = "exists";
+        this.isNot = ctx.NOT() != null;
+    }
+
+    @Override
+    public void exitExistsComparison(ExistsComparisonContext ctx)
+    {
+        // TODO Auto-generated method stub
+
+    }
+
+    @Override
+    public void enterBetweenComparison(BetweenComparisonContext ctx)
+    {
+        this.rule = "between";
+        this.isNot = ctx.NOT() != null;
+    }
+
+    @Override
+    public void exitBetweenComparison(BetweenComparisonContext ctx)
+    {
+        // TODO Auto-generated method stub
+
+    }
+
+    @Override
+    public void enterField(FieldContext ctx)
+    {
+        this.field = (TerminalNode) ctx.getChild(0);
+    }
+
+    @Override
+    public void exitField(FieldContext ctx)
+    {
+        // TODO Auto-generated method stub
+
+    }
+
+    @Override
+    public void enterValue(ValueContext ctx)
+    {
+        this.values.add(ctx.getText());
+    }
+
+    @Override
+    public void exitValue(ValueContext ctx)
+    {
+        // TODO Auto-generated method stub
+
+    }
+
 }
@@ -10,4 +10,6 @@ public interface RequestBuildContext {
   public List<String> getFields(); // must not return null but an empty list
 
   public GroupConstraint getPresetCriteria(); // must not return null but an empty list
+
+  public List<String> getSort(); // must not return null but an empty list
 }
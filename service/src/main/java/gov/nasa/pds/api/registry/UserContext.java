@@ -19,7 +19,11 @@ public interface UserContext extends LidvidsContext {
 
   public ProductVersionSelector getSelector();
 
+  public String getSearchAfter(); // opaque cursor from a previous page or null
+
   public List<String> getSort();
 
+  public String getTrackHits(); // exact, bounded, async or null for the configured default
+
   public String getVersion();
 }
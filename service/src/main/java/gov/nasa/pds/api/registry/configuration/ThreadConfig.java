@@ -0,0 +1,55 @@
+package gov.nasa.pds.api.registry.configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Optionally run the servlet container on virtual threads.
+ *
+ * The service is compiled for java 11 so the virtual thread executor is looked up reflectively. When
+ * registry.threads.virtual is set but the java runtime is older than 21 the platform thread pools
+ * are kept and a warning is logged.
+ */
+@Configuration
+public class ThreadConfig {
+  private static final Logger log = LoggerFactory.getLogger(ThreadConfig.class);
+
+  @Value("${registry.threads.virtual:false}")
+  private boolean virtualThreads;
+
+  /**
+   * @return a new virtual thread per task executor or null if the runtime does not support them
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      log.warn("Virtual threads are not supported by java " + System.getProperty("java.version")
+          + ", using platform threads");
+      return null;
+    }
+  }
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadCustomizer() {
+    return protocolHandler -> {
+      if (this.virtualThreads) {
+        ExecutorService executor = ThreadConfig.newVirtualThreadPerTaskExecutor();
+
+        if (executor != null) {
+          log.info("Serving requests on virtual threads");
+          protocolHandler.setExecutor(executor);
+        }
+      }
+    };
+  }
+}
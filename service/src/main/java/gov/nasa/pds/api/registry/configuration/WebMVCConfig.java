@@ -3,12 +3,14 @@ package gov.nasa.pds.api.registry.configuration;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
@@ -36,6 +38,9 @@ import gov.nasa.pds.api.registry.view.XmlErrorMessageSerializer;
 public class WebMVCConfig implements WebMvcConfigurer {
   private static final Logger log = LoggerFactory.getLogger(WebMVCConfig.class);
 
+  @Value("${registry.async.timeoutSeconds:300}")
+  private long asyncTimeoutSeconds;
+
   @Override
   public void addResourceHandlers(ResourceHandlerRegistry registry) {
     registry.addResourceHandler("/webjars/**")
@@ -58,6 +63,15 @@ public class WebMVCConfig implements WebMvcConfigurer {
     configurer.setUseSuffixPatternMatch(false);
   }
 
+  /**
+   * Endpoints answer with a CompletableFuture, so the servlet request stays open asynchronously
+   * until opensearch has answered. Allow that to take longer than the container default.
+   */
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setDefaultTimeout(this.asyncTimeoutSeconds * 1000L);
+  }
+
   /**
    * Setup a simple strategy: use all the defaults and return JSON by default when not sure.
    */
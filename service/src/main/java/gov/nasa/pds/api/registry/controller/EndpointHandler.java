@@ -1,6 +1,7 @@
 package gov.nasa.pds.api.registry.controller;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.ResponseEntity;
 
@@ -13,7 +14,12 @@ import gov.nasa.pds.api.registry.exceptions.NothingFoundException;
 import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
 
 interface EndpointHandler {
-  public ResponseEntity<Object> transmute(ControlContext control, UserContext content)
-      throws ApplicationTypeException, IOException, LidVidNotFoundException, MembershipException,
-      NothingFoundException, UnknownGroupNameException;
+  /**
+   * Produce the response for the endpoint. Failures may either be thrown directly or complete the
+   * returned future exceptionally with a CompletionException wrapping one of the declared
+   * exceptions. It is called on SearchExecutor.executor() once the identifier is resolved.
+   */
+  public CompletableFuture<ResponseEntity<Object>> transmute(ControlContext control,
+      UserContext content) throws ApplicationTypeException, IOException, LidVidNotFoundException,
+      MembershipException, NothingFoundException, UnknownGroupNameException;
 }
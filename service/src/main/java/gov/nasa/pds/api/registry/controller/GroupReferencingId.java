@@ -1,11 +1,14 @@
 package gov.nasa.pds.api.registry.controller;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import gov.nasa.pds.api.registry.ControlContext;
+import gov.nasa.pds.api.registry.ReferencingLogic;
 import gov.nasa.pds.api.registry.UserContext;
 import gov.nasa.pds.api.registry.exceptions.ApplicationTypeException;
 import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
@@ -13,14 +16,22 @@ import gov.nasa.pds.api.registry.exceptions.NothingFoundException;
 import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
 import gov.nasa.pds.api.registry.model.ReferencingLogicTransmuter;
 import gov.nasa.pds.api.registry.model.RequestAndResponseContext;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
 
 class GroupReferencingId implements EndpointHandler {
   @Override
-  public ResponseEntity<Object> transmute(ControlContext control, UserContext content)
-      throws ApplicationTypeException, IOException, LidVidNotFoundException, NothingFoundException,
-      UnknownGroupNameException {
-    RequestAndResponseContext context = ReferencingLogicTransmuter
-        .getBySwaggerGroup(content.getGroup()).impl().find(control, content);
-    return new ResponseEntity<Object>(context.getResponse(), HttpStatus.OK);
+  public CompletableFuture<ResponseEntity<Object>> transmute(ControlContext control,
+      UserContext content) throws UnknownGroupNameException {
+    ReferencingLogic logic =
+        ReferencingLogicTransmuter.getBySwaggerGroup(content.getGroup()).impl();
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        RequestAndResponseContext context = logic.find(control, content);
+        return new ResponseEntity<Object>(context.getResponse(), HttpStatus.OK);
+      } catch (ApplicationTypeException | IOException | LidVidNotFoundException
+          | NothingFoundException | UnknownGroupNameException e) {
+        throw new CompletionException(e);
+      }
+    }, SearchExecutor.executor());
   }
 }
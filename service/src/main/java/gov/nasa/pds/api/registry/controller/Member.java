@@ -1,6 +1,8 @@
 package gov.nasa.pds.api.registry.controller;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,7 @@ import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
 import gov.nasa.pds.api.registry.model.ReferencingLogicTransmuter;
 import gov.nasa.pds.api.registry.model.RequestAndResponseContext;
 import gov.nasa.pds.api.registry.search.QuickSearch;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
 
 class Member implements EndpointHandler {
   final private boolean offspring, twoSteps;
@@ -26,21 +29,35 @@ class Member implements EndpointHandler {
   }
 
   @Override
-  public ResponseEntity<Object> transmute(ControlContext control, UserContext content)
-      throws ApplicationTypeException, IOException, LidVidNotFoundException, MembershipException,
-      NothingFoundException, UnknownGroupNameException {
-    ReferencingLogic transmuter;
+  public CompletableFuture<ResponseEntity<Object>> transmute(ControlContext control,
+      UserContext content) throws UnknownGroupNameException {
+    CompletableFuture<ReferencingLogic> transmuter;
 
     if (0 < content.getGroup().length())
-      transmuter = ReferencingLogicTransmuter.getBySwaggerGroup(content.getGroup()).impl();
+      transmuter = CompletableFuture.completedFuture(
+          ReferencingLogicTransmuter.getBySwaggerGroup(content.getGroup()).impl());
     else
-      transmuter = ReferencingLogicTransmuter.getByProductClass(QuickSearch
-          .getValue(control.getConnection(), false, content.getLidVid(), "product_class")).impl();
-
-    RequestAndResponseContext context =
-        this.offspring ? transmuter.member(control, content, this.twoSteps)
-            : transmuter.memberOf(control, content, this.twoSteps);
-    return new ResponseEntity<Object>(context.getResponse(), HttpStatus.OK);
+      transmuter = QuickSearch
+          .getValueAsync(control.getConnection(), false, content.getLidVid(), "product_class")
+          .thenApply(productClass -> {
+            try {
+              return ReferencingLogicTransmuter.getByProductClass(productClass).impl();
+            } catch (UnknownGroupNameException e) {
+              throw new CompletionException(e);
+            }
+          });
+
+    return transmuter.thenApplyAsync(logic -> {
+      try {
+        RequestAndResponseContext context =
+            this.offspring ? logic.member(control, content, this.twoSteps)
+                : logic.memberOf(control, content, this.twoSteps);
+        return new ResponseEntity<Object>(context.getResponse(), HttpStatus.OK);
+      } catch (ApplicationTypeException | IOException | LidVidNotFoundException
+          | MembershipException | NothingFoundException | UnknownGroupNameException e) {
+        throw new CompletionException(e);
+      }
+    }, SearchExecutor.executor());
   }
 
 }
@@ -1,6 +1,8 @@
 package gov.nasa.pds.api.registry.controller;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,16 +19,22 @@ import gov.nasa.pds.api.registry.search.SearchRequestFactory;
 
 class Standard implements EndpointHandler {
   @Override
-  public ResponseEntity<Object> transmute(ControlContext control, UserContext content)
-      throws ApplicationTypeException, IOException, LidVidNotFoundException, NothingFoundException,
+  public CompletableFuture<ResponseEntity<Object>> transmute(ControlContext control,
+      UserContext content) throws ApplicationTypeException, IOException, LidVidNotFoundException,
       UnknownGroupNameException {
     RequestAndResponseContext context =
         RequestAndResponseContext.buildRequestAndResponseContext(control, content,
             ReferencingLogicTransmuter.getBySwaggerGroup(content.getGroup()).impl().constraints());
-    context.setResponse(control.getConnection().getRestHighLevelClient(),
+    return context.setResponse(control.getConnection(),
         new SearchRequestFactory(context, control.getConnection()).build(context,
-            control.getConnection().getRegistryIndex()));
-    return new ResponseEntity<Object>(context.getResponse(), HttpStatus.OK);
+            control.getConnection().getRegistryIndex()))
+        .thenApply(done -> {
+          try {
+            return new ResponseEntity<Object>(done.getResponse(), HttpStatus.OK);
+          } catch (NothingFoundException e) {
+            throw new CompletionException(e);
+          }
+        });
   }
 
 }
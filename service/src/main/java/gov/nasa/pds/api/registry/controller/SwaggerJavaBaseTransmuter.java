@@ -2,6 +2,7 @@ package gov.nasa.pds.api.registry.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.slf4j.Logger;
@@ -18,37 +19,37 @@ abstract class SwaggerJavaBaseTransmuter {
   @Autowired
   URIParametersBuilder uriParametersBuilder;
 
-  abstract protected ResponseEntity<Object> processs(EndpointHandler handler,
+  abstract protected CompletableFuture<ResponseEntity<Object>> processs(EndpointHandler handler,
       URIParameters parameters);
 
   abstract protected ResponseEntity<Map<String,Object>> processHealthcheck();
 
-  public ResponseEntity<Object> groupReferencingId(String group, String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> groupReferencingId(String group,
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     return this.processs(new GroupReferencingId(),
         this.uriParametersBuilder.setGroup(group).setIdentifier(identifier).setFields(fields)
             .setLimit(limit).setSort(sort).setStart(start).build());
   }
 
-  public ResponseEntity<Object> groupReferencingIdVers(String group, String identifier,
-      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+  public CompletableFuture<ResponseEntity<Object>> groupReferencingIdVers(String group,
+      String identifier, String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
       @Valid List<String> sort, @Min(0) @Valid Integer start) {
     return this.processs(new GroupReferencingId(),
         this.uriParametersBuilder.setGroup(group).setIdentifier(identifier).setVersion(versions)
             .setFields(fields).setLimit(limit).setSort(sort).setStart(start).build());
   }
 
-  public ResponseEntity<Object> idReferencingGroup(String group, String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> idReferencingGroup(String group,
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     return this.processs(new IdReferencingGroup(),
         this.uriParametersBuilder.setGroup(group).setIdentifier(identifier).setFields(fields)
             .setLimit(limit).setSort(sort).setStart(start).build());
   }
 
-  public ResponseEntity<Object> idReferencingGroupVers(String group, String identifier,
-      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+  public CompletableFuture<ResponseEntity<Object>> idReferencingGroupVers(String group,
+      String identifier, String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
       @Valid List<String> sort, @Min(0) @Valid Integer start) {
     return this.processs(new IdReferencingGroup(),
         this.uriParametersBuilder.setGroup(group).setIdentifier(identifier).setVersion(versions)
@@ -1,6 +1,7 @@
 package gov.nasa.pds.api.registry.controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
@@ -12,76 +13,82 @@ import gov.nasa.pds.api.registry.model.ProductVersionSelector;
 abstract class SwaggerJavaDeprecatedTransmuter extends SwaggerJavaProductsTransmuter
     implements BundlesApi, CollectionsApi, ProductsApi {
   @Override
-  public ResponseEntity<Object> bundleList(@Valid List<String> fields, @Valid List<String> keywords,
-      @Min(0) @Valid Integer limit, @Valid String q, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
-    return super.classList("bundles", fields, keywords, limit, q, sort, start);
+  public CompletableFuture<ResponseEntity<Object>> bundleList(@Valid List<String> fields,
+      @Valid List<String> keywords, @Min(0) @Valid Integer limit, @Valid String q,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
+    return super.classList("bundles", fields, keywords, limit, q, null, sort, start, null);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvid(String identifier, @Valid List<String> fields) {
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvid(String identifier,
+      @Valid List<String> fields) {
     return this.processs(new Standard(), this.uriParametersBuilder.setGroup("bundles")
         .setIdentifier(identifier).setFields(fields).setVerifyClassAndId(true).build());
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidAll(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidAll(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     return this.processs(new Standard(),
         this.uriParametersBuilder.setGroup("bundles").setIdentifier(identifier).setFields(fields)
             .setVerifyClassAndId(true).setVersion(ProductVersionSelector.ALL).build());
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidCollections(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidCollections(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
-    return this.classMembers("bundles", identifier, fields, limit, sort, start);
+    return this.classMembers("bundles", identifier, fields, limit, null, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidCollectionsAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidCollectionsAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
-    return this.classMembersVers("bundles", identifier, "all", fields, limit, sort, start);
+    return this.classMembersVers("bundles", identifier, "all", fields, limit, null, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidCollectionsLatest(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidCollectionsLatest(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
-    return this.classMembersVers("bundles", identifier, "latest", fields, limit, sort, start);
+    return this.classMembersVers("bundles", identifier, "latest", fields, limit, null, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidLatest(String identifier, @Valid List<String> fields) {
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidLatest(String identifier,
+      @Valid List<String> fields) {
     return this.processs(new Standard(),
         this.uriParametersBuilder.setGroup("bundles").setIdentifier(identifier).setFields(fields)
             .setVerifyClassAndId(true).setVersion(ProductVersionSelector.LATEST).build());
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidProducts(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
-    return this.classMembersMembers("bundles", identifier, fields, limit, sort, start);
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidProducts(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
+    return this.classMembersMembers("bundles", identifier, fields, limit, null, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> collectionList(@Valid List<String> fields,
+  public CompletableFuture<ResponseEntity<Object>> collectionList(@Valid List<String> fields,
       @Valid List<String> keywords, @Min(0) @Valid Integer limit, @Valid String q,
       @Valid List<String> sort, @Min(0) @Valid Integer start) {
-    return super.classList("collections", fields, keywords, limit, q, sort, start);
+    return super.classList("collections", fields, keywords, limit, q, null, sort, start, null);
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvid(String identifier, @Valid List<String> fields) {
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvid(String identifier,
+      @Valid List<String> fields) {
     return this.processs(new Standard(), this.uriParametersBuilder.setGroup("collections")
         .setIdentifier(identifier).setFields(fields).setVerifyClassAndId(true).build());
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidAll(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidAll(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     return this.processs(new Standard(),
         this.uriParametersBuilder.setGroup("collections").setIdentifier(identifier)
             .setFields(fields).setVerifyClassAndId(true).setVersion(ProductVersionSelector.ALL)
@@ -89,14 +96,14 @@ abstract class SwaggerJavaDeprecatedTransmuter extends SwaggerJavaProductsTransm
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidBundles(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidBundles(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     return this.classMemberOf("collections", identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidLatest(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidLatest(String identifier,
       @Valid List<String> fields) {
     return this.processs(new Standard(),
         this.uriParametersBuilder.setGroup("collections").setIdentifier(identifier)
@@ -105,64 +112,67 @@ abstract class SwaggerJavaDeprecatedTransmuter extends SwaggerJavaProductsTransm
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidProducts(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidProducts(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
-    return this.classMembers("collections", identifier, fields, limit, sort, start);
+    return this.classMembers("collections", identifier, fields, limit, null, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidProductsAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidProductsAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
-    return this.classMembersVers("collections", identifier, "all", fields, limit, sort, start);
+    return this.classMembersVers("collections", identifier, "all", fields, limit, null, sort,
+        start);
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidProductsLatest(String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
-    return this.classMembersVers("collections", identifier, "latest", fields, limit, sort, start);
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidProductsLatest(
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
+    return this.classMembersVers("collections", identifier, "latest", fields, limit, null, sort,
+        start);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidividBundlesAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidividBundlesAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     return this.classMemberOfOfVers("any", identifier, "all", fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidBundles(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidBundles(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     return this.classMemberOfOf("any", identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidBundlesLatest(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidBundlesLatest(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     return this.classMemberOfOfVers("any", identifier, "latest", fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidCollections(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidCollections(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     return this.classMemberOf("any", identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidCollectionsAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidCollectionsAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     return this.classMemberOfVers("any", identifier, "all", fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidCollectionsLatest(String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidCollectionsLatest(
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     return this.classMemberOfVers("any", identifier, "latest", fields, limit, sort, start);
   }
 }
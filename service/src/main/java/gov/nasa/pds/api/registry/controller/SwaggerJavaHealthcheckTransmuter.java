@@ -1,6 +1,7 @@
 package gov.nasa.pds.api.registry.controller;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,7 +16,7 @@ abstract class SwaggerJavaHealthcheckTransmuter extends SwaggerJavaDeprecatedTra
   private static final Logger log = LoggerFactory.getLogger(SwaggerJavaHealthcheckTransmuter.class);
 
   @Override
-  public ResponseEntity<Map<String, Object>> healthcheck() {
-    return this.processHealthcheck();
+  public CompletableFuture<ResponseEntity<Map<String, Object>>> healthcheck() {
+    return CompletableFuture.completedFuture(this.processHealthcheck());
   }
 }
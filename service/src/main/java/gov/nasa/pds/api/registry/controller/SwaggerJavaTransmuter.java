@@ -3,6 +3,9 @@ package gov.nasa.pds.api.registry.controller;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import gov.nasa.pds.api.base.PropertiesApi;
 import gov.nasa.pds.model.ProductPropertiesList200ResponseInner;
 import jakarta.validation.Valid;
@@ -24,6 +27,7 @@ import gov.nasa.pds.api.base.HealthcheckApi;
 import gov.nasa.pds.api.registry.ConnectionContext;
 import gov.nasa.pds.api.registry.ControlContext;
 import gov.nasa.pds.api.registry.exceptions.ApplicationTypeException;
+import gov.nasa.pds.api.registry.exceptions.InvalidParameterException;
 import gov.nasa.pds.api.registry.exceptions.LidVidMismatchException;
 import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
 import gov.nasa.pds.api.registry.exceptions.MembershipException;
@@ -32,6 +36,7 @@ import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
 import gov.nasa.pds.api.registry.model.ErrorMessageFactory;
 import gov.nasa.pds.api.registry.model.identifiers.LidVidUtils;
 import gov.nasa.pds.api.registry.model.HealthcheckLogic;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
 
 @Controller
 public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
@@ -62,47 +67,81 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
     return this.objectMapper;
   }
 
-  protected ResponseEntity<Object> processs(EndpointHandler handler, URIParameters parameters) {
+  protected CompletableFuture<ResponseEntity<Object>> processs(EndpointHandler handler,
+      URIParameters parameters) {
     long begin = System.currentTimeMillis();
+    CompletableFuture<ResponseEntity<Object>> response;
+
+    // resolving and verifying the identifier search opensearch, so they leave the servlet thread
     try {
-      parameters.setProductIdentifier(this);
-      if (parameters.getVerifyClassAndId())
-        LidVidUtils.verify(this, parameters);
-      return handler.transmute(this, parameters);
-    } catch (ApplicationTypeException e) {
-      log.error("Application type not implemented", e);
-      return new ResponseEntity<Object>(this.errorMessageFactory.get(e), HttpStatus.NOT_ACCEPTABLE);
-
-    } catch (IOException e) {
-      log.error("Couldn't get or serialize response for content type " + parameters.getAccept(), e);
-      return new ResponseEntity<Object>(this.errorMessageFactory.get(e),
+      response = CompletableFuture.supplyAsync(() -> {
+        try {
+          parameters.setProductIdentifier(this);
+          if (parameters.getVerifyClassAndId())
+            LidVidUtils.verify(this, parameters);
+          return handler.transmute(this, parameters);
+        } catch (Exception e) {
+          throw new CompletionException(e);
+        }
+      }, SearchExecutor.executor()).thenCompose(transmuted -> transmuted);
+    } catch (RejectedExecutionException e) {
+      response = CompletableFuture.failedFuture(e);
+    }
+
+    return response.exceptionally(t -> this.failure(
+        t instanceof CompletionException && t.getCause() != null ? t.getCause() : t, parameters))
+        .whenComplete((done, t) -> log.info("Transmuter processing of request took: "
+            + (System.currentTimeMillis() - begin) + " ms"));
+  }
+
+  private ResponseEntity<Object> failure(Throwable t, URIParameters parameters) {
+    if (t instanceof ApplicationTypeException) {
+      log.error("Application type not implemented", t);
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.NOT_ACCEPTABLE);
+    } else if (t instanceof IOException) {
+      log.error("Couldn't get or serialize response for content type " + parameters.getAccept(), t);
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
           HttpStatus.INTERNAL_SERVER_ERROR);
-    } catch (LidVidMismatchException e) {
+    } else if (t instanceof LidVidMismatchException) {
       log.warn("The lid(vid) '" + parameters.getIdentifier()
           + "' in the data base type does not match given type '" + parameters.getGroup() + "'");
-      return new ResponseEntity<Object>(this.errorMessageFactory.get(e), HttpStatus.NOT_FOUND);
-    } catch (LidVidNotFoundException e) {
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.NOT_FOUND);
+    } else if (t instanceof LidVidNotFoundException) {
       log.warn("Could not find lid(vid) in database: " + parameters.getIdentifier());
-      return new ResponseEntity<Object>(this.errorMessageFactory.get(e), HttpStatus.NOT_FOUND);
-    } catch (MembershipException e) {
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.NOT_FOUND);
+    } else if (t instanceof MembershipException) {
       log.warn("The given lid(vid) does not support the requested membership.");
-      return new ResponseEntity<Object>(this.errorMessageFactory.get(e), HttpStatus.NOT_FOUND);
-    } catch (NothingFoundException e) {
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.NOT_FOUND);
+    } else if (t instanceof NothingFoundException) {
       log.warn("Could not find any matching reference(s) in database.");
-      return new ResponseEntity<Object>(this.errorMessageFactory.get(e), HttpStatus.NOT_FOUND);
-    } catch (NoViableAltException | ParseCancellationException e) {
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.NOT_FOUND);
+    } else if (t instanceof NoViableAltException || t instanceof ParseCancellationException) {
       log.warn("The given search string '" + parameters.getQuery() + "' cannot be parsed.");
       ParseCancellationException forwarded_exception = new ParseCancellationException(
           "The given search string '" + parameters.getQuery() + "' cannot be parsed.");
       return new ResponseEntity<Object>(this.errorMessageFactory.get(forwarded_exception),
           HttpStatus.BAD_REQUEST);
-    } catch (UnknownGroupNameException e) {
-      log.error("Group name not implemented", e);
-      return new ResponseEntity<Object>(this.errorMessageFactory.get(e), HttpStatus.NOT_ACCEPTABLE);
-    } finally {
-      log.info(
-          "Transmuter processing of request took: " + (System.currentTimeMillis() - begin) + " ms");
+    } else if (t instanceof InvalidParameterException) {
+      log.warn("Bad request parameter: " + t.getMessage());
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.BAD_REQUEST);
+    } else if (t instanceof RejectedExecutionException) {
+      log.warn("Too many requests in progress, rejecting one: " + t.getMessage());
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.SERVICE_UNAVAILABLE);
+    } else if (t instanceof UnknownGroupNameException) {
+      log.error("Group name not implemented", t);
+      return new ResponseEntity<Object>(this.errorMessageFactory.get((Exception) t),
+          HttpStatus.NOT_ACCEPTABLE);
     }
+
+    // anything else is left for spring to report
+    throw t instanceof RuntimeException ? (RuntimeException) t : new CompletionException(t);
   }
 
   protected ResponseEntity<Map<String,Object>> processHealthcheck() {
@@ -126,34 +165,36 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Map<String,Object>> healthcheck() {
+  public CompletableFuture<ResponseEntity<Map<String,Object>>> healthcheck() {
     // TODO Auto-generated method stub
     return super.healthcheck();
   }
 
   @Override
-  public ResponseEntity<Object> bundleList(@Valid List<String> fields, @Valid List<String> keywords,
-      @Min(0) @Valid Integer limit, @Valid String q, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> bundleList(@Valid List<String> fields,
+      @Valid List<String> keywords, @Min(0) @Valid Integer limit, @Valid String q,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.bundleList(fields, keywords, limit, q, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvid(String identifier, @Valid List<String> fields) {
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvid(String identifier,
+      @Valid List<String> fields) {
     // TODO Auto-generated method stub
     return super.bundlesLidvid(identifier, fields);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidAll(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidAll(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.bundlesLidvidAll(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidCollections(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidCollections(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -161,7 +202,7 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidCollectionsAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidCollectionsAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -169,7 +210,7 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidCollectionsLatest(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidCollectionsLatest(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -177,20 +218,22 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidLatest(String identifier, @Valid List<String> fields) {
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidLatest(String identifier,
+      @Valid List<String> fields) {
     // TODO Auto-generated method stub
     return super.bundlesLidvidLatest(identifier, fields);
   }
 
   @Override
-  public ResponseEntity<Object> bundlesLidvidProducts(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> bundlesLidvidProducts(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.bundlesLidvidProducts(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> collectionList(@Valid List<String> fields,
+  public CompletableFuture<ResponseEntity<Object>> collectionList(@Valid List<String> fields,
       @Valid List<String> keywords, @Min(0) @Valid Integer limit, @Valid String q,
       @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -198,20 +241,22 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvid(String identifier, @Valid List<String> fields) {
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvid(String identifier,
+      @Valid List<String> fields) {
     // TODO Auto-generated method stub
     return super.collectionsLidvid(identifier, fields);
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidAll(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidAll(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.collectionsLidvidAll(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidBundles(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidBundles(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -219,14 +264,14 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidLatest(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidLatest(String identifier,
       @Valid List<String> fields) {
     // TODO Auto-generated method stub
     return super.collectionsLidvidLatest(identifier, fields);
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidProducts(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidProducts(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -234,7 +279,7 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidProductsAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidProductsAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -242,23 +287,24 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> collectionsLidvidProductsLatest(String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> collectionsLidvidProductsLatest(
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.collectionsLidvidProductsLatest(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productList(@Valid List<String> fields,
+  public CompletableFuture<ResponseEntity<Object>> productList(@Valid List<String> fields,
       @Valid List<String> keywords, @Min(0) @Valid Integer limit, @Valid String q,
-      @Valid List<String> sort, @Min(0) @Valid Integer start) {
+      @Valid String searchAfter, @Valid List<String> sort, @Min(0) @Valid Integer start,
+      @Valid String trackHits) {
     // TODO Auto-generated method stub
-    return super.productList(fields, keywords, limit, q, sort, start);
+    return super.productList(fields, keywords, limit, q, searchAfter, sort, start, trackHits);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidividBundlesAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidividBundlesAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -266,14 +312,15 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidBundles(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidBundles(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.productsLidvidBundles(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidBundlesLatest(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidBundlesLatest(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -281,7 +328,7 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidCollections(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidCollections(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -289,7 +336,7 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidCollectionsAll(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidCollectionsAll(String identifier,
       @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
       @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
@@ -297,126 +344,136 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> productsLidvidCollectionsLatest(String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productsLidvidCollectionsLatest(
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.productsLidvidCollectionsLatest(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMemberOf(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMemberOf(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.productMemberOf(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMemberOfOf(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMemberOfOf(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.productMemberOfOf(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMemberOfOfVers(String identifier, String versions,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMemberOfOfVers(String identifier,
+      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.productMemberOfOfVers(identifier, versions, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMemberOfVers(String identifier, String versions,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMemberOfVers(String identifier,
+      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.productMemberOfVers(identifier, versions, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMembers(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMembers(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid String q,
+      @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.productMembers(identifier, fields, limit, sort, start);
+    return super.productMembers(identifier, fields, limit, q, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMembersMembers(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMembersMembers(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid String q,
+      @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.productMembersMembers(identifier, fields, limit, sort, start);
+    return super.productMembersMembers(identifier, fields, limit, q, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMembersMembersVers(String identifier, String versions,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMembersMembersVers(String identifier,
+      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid String q, @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.productMembersMembersVers(identifier, versions, fields, limit, sort, start);
+    return super.productMembersMembersVers(identifier, versions, fields, limit, q, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> productMembersVers(String identifier, String versions,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> productMembersVers(String identifier,
+      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid String q, @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.productMembersVers(identifier, versions, fields, limit, sort, start);
+    return super.productMembersVers(identifier, versions, fields, limit, q, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> selectByLidvid(String identifier, @Valid List<String> fields) {
+  public CompletableFuture<ResponseEntity<Object>> selectByLidvid(String identifier,
+      @Valid List<String> fields) {
     // TODO Auto-generated method stub
     return super.selectByLidvid(identifier, fields);
   }
 
   @Override
-  public ResponseEntity<Object> selectByLidvidAll(String identifier, @Valid List<String> fields,
-      @Min(0) @Valid Integer limit, @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> selectByLidvidAll(String identifier,
+      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
+      @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.selectByLidvidAll(identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> selectByLidvidLatest(String identifier,
+  public CompletableFuture<ResponseEntity<Object>> selectByLidvidLatest(String identifier,
       @Valid List<String> fields) {
     // TODO Auto-generated method stub
     return super.selectByLidvidLatest(identifier, fields);
   }
 
   @Override
-  public ResponseEntity<List<String>> classes() {
+  public CompletableFuture<ResponseEntity<List<String>>> classes() {
     // TODO Auto-generated method stub
     return super.classes();
   }
 
   @Override
-  public ResponseEntity<Object> classList(String propertyClass, @Valid List<String> fields,
-      @Valid List<String> keywords, @Min(0) @Valid Integer limit, @Valid String q,
-      @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> classList(String propertyClass,
+      @Valid List<String> fields, @Valid List<String> keywords, @Min(0) @Valid Integer limit,
+      @Valid String q, @Valid String searchAfter, @Valid List<String> sort,
+      @Min(0) @Valid Integer start, @Valid String trackHits) {
     // TODO Auto-generated method stub
-    return super.classList(propertyClass, fields, keywords, limit, q, sort, start);
+    return super.classList(propertyClass, fields, keywords, limit, q, searchAfter, sort, start,
+        trackHits);
   }
 
   @Override
-  public ResponseEntity<Object> classMemberOf(String propertyClass, String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> classMemberOf(String propertyClass,
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.classMemberOf(propertyClass, identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> classMemberOfOf(String propertyClass, String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> classMemberOfOf(String propertyClass,
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.classMemberOfOf(propertyClass, identifier, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> classMemberOfOfVers(String propertyClass, String identifier,
-      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+  public CompletableFuture<ResponseEntity<Object>> classMemberOfOfVers(String propertyClass,
+      String identifier, String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
       @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.classMemberOfOfVers(propertyClass, identifier, versions, fields, limit, sort,
@@ -424,48 +481,50 @@ public class SwaggerJavaTransmuter extends SwaggerJavaHealthcheckTransmuter
   }
 
   @Override
-  public ResponseEntity<Object> classMemberOfVers(String propertyClass, String identifier,
-      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+  public CompletableFuture<ResponseEntity<Object>> classMemberOfVers(String propertyClass,
+      String identifier, String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
       @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
     return super.classMemberOfVers(propertyClass, identifier, versions, fields, limit, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> classMembers(String propertyClass, String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> classMembers(String propertyClass,
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid String q, @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.classMembers(propertyClass, identifier, fields, limit, sort, start);
+    return super.classMembers(propertyClass, identifier, fields, limit, q, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> classMembersMembers(String propertyClass, String identifier,
-      @Valid List<String> fields, @Min(0) @Valid Integer limit, @Valid List<String> sort,
-      @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> classMembersMembers(String propertyClass,
+      String identifier, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid String q, @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.classMembersMembers(propertyClass, identifier, fields, limit, sort, start);
+    return super.classMembersMembers(propertyClass, identifier, fields, limit, q, sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> classMembersMembersVers(String propertyClass, String identifier,
-      String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
-      @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> classMembersMembersVers(String propertyClass,
+      String identifier, String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid String q, @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.classMembersMembersVers(propertyClass, identifier, versions, fields, limit, sort,
-        start);
+    return super.classMembersMembersVers(propertyClass, identifier, versions, fields, limit, q,
+        sort, start);
   }
 
   @Override
-  public ResponseEntity<Object> classMembersVers(String propertyClass, String identifier,
-       String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
-       @Valid List<String> sort, @Min(0) @Valid Integer start) {
+  public CompletableFuture<ResponseEntity<Object>> classMembersVers(String propertyClass,
+      String identifier, String versions, @Valid List<String> fields, @Min(0) @Valid Integer limit,
+      @Valid String q, @Valid List<String> sort, @Min(0) @Valid Integer start) {
     // TODO Auto-generated method stub
-    return super.classMembersVers(propertyClass, identifier, versions, fields, limit, sort, start);
+    return super.classMembersVers(propertyClass, identifier, versions, fields, limit, q, sort,
+        start);
   }
 
   @Override
-  public ResponseEntity<List<ProductPropertiesList200ResponseInner>> productPropertiesList() {
+  public CompletableFuture<ResponseEntity<List<ProductPropertiesList200ResponseInner>>>
+      productPropertiesList() {
     // TODO Auto-generated method stub
     return super.productPropertiesList();
   }
@@ -42,7 +42,9 @@ class URIParameters implements UserContext {
   private final Boolean singletonResultExpected;
   private final String query;
   private final ProductVersionSelector selector;
+  private final String searchAfter;
   private final List<String> sort;
+  private final String trackHits;
   private final String version;
 
   private PdsProductIdentifier productIdentifier;
@@ -61,7 +63,9 @@ class URIParameters implements UserContext {
     this.singletonResultExpected = builder.singletonResultExpected;
     this.query = builder.query;
     this.selector = builder.selector;
+    this.searchAfter = builder.searchAfter;
     this.sort = builder.sort;
+    this.trackHits = builder.trackHits;
     this.version = builder.version;
 
   }
@@ -123,11 +127,21 @@ class URIParameters implements UserContext {
     return selector;
   }
 
+  @Override
+  public String getSearchAfter() {
+    return searchAfter;
+  }
+
   @Override
   public List<String> getSort() {
     return sort;
   }
 
+  @Override
+  public String getTrackHits() {
+    return trackHits;
+  }
+
   @Override
   public Integer getStart() {
     return start;
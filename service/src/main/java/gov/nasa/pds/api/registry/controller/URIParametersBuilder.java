@@ -27,7 +27,9 @@ public class URIParametersBuilder {
   public Boolean singletonResultExpected = true;
   public String query = "";
   public ProductVersionSelector selector = ProductVersionSelector.LATEST;
+  public String searchAfter = null;
   public List<String> sort = new ArrayList<String>();
+  public String trackHits = null;
   public String version = "latest";
 
 
@@ -88,6 +90,12 @@ public class URIParametersBuilder {
     return this;
   }
 
+  public URIParametersBuilder setSearchAfter(String searchAfter) {
+    if (searchAfter != null && !searchAfter.isBlank())
+      this.searchAfter = searchAfter;
+    return this;
+  }
+
   public URIParametersBuilder setSort(List<String> sort) {
     if (sort != null)
       this.sort = sort;
@@ -109,6 +117,12 @@ public class URIParametersBuilder {
     return this;
   }
 
+  public URIParametersBuilder setTrackHits(String trackHits) {
+    if (trackHits != null && !trackHits.isBlank())
+      this.trackHits = trackHits;
+    return this;
+  }
+
   public URIParametersBuilder setVerifyClassAndId(boolean verify) {
     this.verifyClassAndId = verify;
     return this;
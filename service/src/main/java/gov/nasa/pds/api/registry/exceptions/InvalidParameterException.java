@@ -0,0 +1,17 @@
+package gov.nasa.pds.api.registry.exceptions;
+
+/**
+ * A request parameter (sort, search-after, track-hits, a literal of q, ...) that cannot be
+ * honored as given, answered with 400 rather than as a failure of the service.
+ */
+public class InvalidParameterException extends IllegalArgumentException {
+  private static final long serialVersionUID = 6180367451027791433L;
+
+  public InvalidParameterException(String msg) {
+    super(msg);
+  }
+
+  public InvalidParameterException(String msg, Throwable cause) {
+    super(msg, cause);
+  }
+}
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import gov.nasa.pds.api.registry.lexer.SearchBaseListener;
 import gov.nasa.pds.api.registry.lexer.SearchParser;
+import gov.nasa.pds.api.registry.search.MappingCatalog;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -13,16 +14,16 @@ import java.util.List;
 
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.index.query.PrefixQueryBuilder;
 import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.index.query.SimpleQueryStringBuilder;
 import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.index.query.WildcardQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 
 public class Antlr4SearchListener extends SearchBaseListener {
-  enum conjunctions {
-    AND, OR
-  };
-
   enum operation {
     eq, ge, gt, le, lt, ne
   };
@@ -31,17 +32,8 @@ public class Antlr4SearchListener extends SearchBaseListener {
 
   private BoolQueryBuilder query = new BoolQueryBuilder();
 
-  private conjunctions conjunction = conjunctions.AND;
-  final private Deque<conjunctions> stack_conjunction = new ArrayDeque<conjunctions>();
-  final private Deque<BoolQueryBuilder> stack_queries = new ArrayDeque<BoolQueryBuilder>();
-  final private Deque<List<QueryBuilder>> stack_musts = new ArrayDeque<List<QueryBuilder>>();
-  final private Deque<List<QueryBuilder>> stack_nots = new ArrayDeque<List<QueryBuilder>>();
-  final private Deque<List<QueryBuilder>> stack_shoulds = new ArrayDeque<List<QueryBuilder>>();
-
-  int depth = 0;
-  private List<QueryBuilder> musts = new ArrayList<QueryBuilder>();
-  private List<QueryBuilder> nots = new ArrayList<QueryBuilder>();
-  private List<QueryBuilder> shoulds = new ArrayList<QueryBuilder>();
+  final private Deque<QueryPlanner.Group> stack_groups = new ArrayDeque<QueryPlanner.Group>();
+  private QueryPlanner.Group group = new QueryPlanner.Group(false);
   private operation operator = null;
 
   public Antlr4SearchListener() {
@@ -50,75 +42,49 @@ public class Antlr4SearchListener extends SearchBaseListener {
 
   @Override
   public void exitQuery(SearchParser.QueryContext ctx) {
-    for (QueryBuilder qb : musts)
-      this.query.must(qb);
-    for (QueryBuilder qb : nots)
-      this.query.mustNot(qb);
-    for (QueryBuilder qb : shoulds)
-      this.query.filter(qb);
+    this.query = QueryPlanner.plan(QueryPlanner.flatten(this.group));
+  }
+
+  private void push(boolean or) {
+    this.stack_groups.push(this.group);
+    this.group = new QueryPlanner.Group(or);
+  }
+
+  private void pop(boolean not) {
+    QueryPlanner.Node group = QueryPlanner.flatten(this.group);
+
+    this.group = this.stack_groups.pop();
+    this.group.nodes.add(not ? QueryPlanner.not(group) : group);
   }
 
   @Override
   public void enterGroup(SearchParser.GroupContext ctx) {
-    this.stack_conjunction.push(this.conjunction);
-    this.stack_musts.push(this.musts);
-    this.stack_nots.push(this.nots);
-    this.stack_queries.push(this.query);
-    this.stack_shoulds.push(this.shoulds);
-    this.conjunction = conjunctions.AND;
-    this.musts = new ArrayList<QueryBuilder>();
-    this.nots = new ArrayList<QueryBuilder>();
-    this.shoulds = new ArrayList<QueryBuilder>();
-
-    if (0 < this.depth) {
-      this.query = new BoolQueryBuilder();
-    }
-
-    this.depth++;
+    this.push(false);
   }
 
   @Override
   public void exitGroup(SearchParser.GroupContext ctx) {
-    BoolQueryBuilder group = this.query;
-    List<QueryBuilder> musts = this.musts;
-    List<QueryBuilder> nots = this.nots;
-    List<QueryBuilder> shoulds = this.shoulds;
-
-    this.conjunction = this.stack_conjunction.pop();
-    this.depth--;
-    this.musts = this.stack_musts.pop();
-    this.nots = this.stack_nots.pop();
-    this.query = this.stack_queries.pop();
-    this.shoulds = this.stack_shoulds.pop();
-
-    for (QueryBuilder qb : musts)
-      group.must(qb);
-    for (QueryBuilder qb : nots)
-      group.mustNot(qb);
-    for (QueryBuilder qb : shoulds)
-      group.filter(qb);
-
-    if (0 < depth) {
-      if (ctx.NOT() != null)
-        this.nots.add(group);
-      else if (this.conjunction == conjunctions.AND)
-        this.musts.add(group);
-      else
-        this.shoulds.add(group);
-    } else if (ctx.NOT() != null) {
-      this.query = new BoolQueryBuilder();
-      this.nots.add(group);
-    }
+    this.pop(ctx.NOT() != null);
   }
 
   @Override
   public void enterAndStatement(SearchParser.AndStatementContext ctx) {
-    this.conjunction = conjunctions.AND;
+    this.push(false);
+  }
+
+  @Override
+  public void exitAndStatement(SearchParser.AndStatementContext ctx) {
+    this.pop(false);
   }
 
   @Override
   public void enterOrStatement(SearchParser.OrStatementContext ctx) {
-    this.conjunction = conjunctions.OR;
+    this.push(true);
+  }
+
+  @Override
+  public void exitOrStatement(SearchParser.OrStatementContext ctx) {
+    this.pop(false);
   }
 
   @Override
@@ -126,9 +92,10 @@ public class Antlr4SearchListener extends SearchBaseListener {
 
   @Override
   public void exitComparison(SearchParser.ComparisonContext ctx) {
-    final String left = SearchUtil.jsonPropertyToOpenProperty(ctx.FIELD().getSymbol().getText());
+    final String left = SearchUtil.jsonPropertyToOpenProperty(ctx.field().getText());
 
     String right;
+    Object typed;
     QueryBuilder comparator = null;
 
     if (ctx.NUMBER() != null) {
@@ -142,18 +109,20 @@ public class Antlr4SearchListener extends SearchBaseListener {
     }
 
     if (this.operator == operation.eq || this.operator == operation.ne) {
-      comparator = new TermQueryBuilder(left, right);
+      typed = TypedValue.term(left, MappingCatalog.type(left), right);
+      comparator = new TermQueryBuilder(left, typed);
     } else {
+      typed = TypedValue.of(left, MappingCatalog.type(left), right);
       comparator = new RangeQueryBuilder(left);
 
       if (this.operator == operation.ge)
-        ((RangeQueryBuilder) comparator).gte(right);
+        ((RangeQueryBuilder) comparator).gte(typed);
       else if (this.operator == operation.gt)
-        ((RangeQueryBuilder) comparator).gt(right);
+        ((RangeQueryBuilder) comparator).gt(typed);
       else if (this.operator == operation.le)
-        ((RangeQueryBuilder) comparator).lte(right);
+        ((RangeQueryBuilder) comparator).lte(typed);
       else if (this.operator == operation.lt)
-        ((RangeQueryBuilder) comparator).lt(right);
+        ((RangeQueryBuilder) comparator).lt(typed);
       else {
         log.error(
             "Panic, there are more range operators than this version of the lexer knows about");
@@ -161,13 +130,7 @@ public class Antlr4SearchListener extends SearchBaseListener {
       }
     }
 
-    if (this.operator == operation.ne) {
-      this.nots.add(comparator);
-    } else if (this.conjunction == conjunctions.AND) {
-      this.musts.add(comparator);
-    } else {
-      this.shoulds.add(comparator);
-    }
+    this.add(comparator, this.operator == operation.ne);
   }
 
   @Override
@@ -175,19 +138,80 @@ public class Antlr4SearchListener extends SearchBaseListener {
 
   @Override
   public void exitLikeComparison(SearchParser.LikeComparisonContext ctx) {
-    final String left = SearchUtil.jsonPropertyToOpenProperty(ctx.FIELD().getText());
+    final String left = SearchUtil.jsonPropertyToOpenProperty(ctx.field().getText());
 
     String right = ctx.STRINGVAL().getText();
     right = right.substring(1, right.length() - 1);
-    QueryBuilder comparator = new SimpleQueryStringBuilder(right).field(left).fuzzyMaxExpansions(0);
+    QueryBuilder comparator = Antlr4SearchListener.like(left, right, MappingCatalog.type(left),
+        ProductQueryBuilderUtil.likeWildcards());
 
-    if ("not".equalsIgnoreCase(ctx.getChild(1).getText())) {
-      this.nots.add(comparator);
-    } else if (this.conjunction == conjunctions.AND) {
-      this.musts.add(comparator);
-    } else {
-      this.shoulds.add(comparator);
-    }
+    QueryPlanner.Node leaf =
+        new QueryPlanner.Leaf(comparator, comparator instanceof SimpleQueryStringBuilder);
+    this.group.nodes.add(ctx.NOT() != null ? QueryPlanner.not(leaf) : leaf);
+  }
+
+  /**
+   * @return the cheapest query that matches the like pattern the way simple_query_string does
+   *
+   *         Only keyword fields are rewritten because simple_query_string analyzes the text of
+   *         other fields. A pattern without operators is then a single term, and one ending with *
+   *         a prefix, both of which keep ? literal as simple_query_string does. Only when wildcards
+   *         is set (registry.query.like.wildcards), a * anywhere else, which simple_query_string
+   *         would take literally, becomes a wildcard query in which ? and \ are escaped. Anything
+   *         else, or a field of unknown type, stays a simple_query_string.
+   */
+  static QueryBuilder like(String field, String pattern, String type, boolean wildcards) {
+    int star = pattern.indexOf('*');
+
+    if (!"keyword".equals(type) || pattern.isEmpty() || pattern.startsWith("-")
+        || pattern.chars().anyMatch(c -> Character.isWhitespace(c) || "+|\"()~\\".indexOf(c) >= 0))
+      return new SimpleQueryStringBuilder(pattern).field(field).fuzzyMaxExpansions(0);
+    if (star < 0)
+      return new TermQueryBuilder(field, pattern);
+    if (star == pattern.length() - 1 && 0 < star)
+      return new PrefixQueryBuilder(field, pattern.substring(0, star));
+    if (!wildcards)
+      return new SimpleQueryStringBuilder(pattern).field(field).fuzzyMaxExpansions(0);
+    return new WildcardQueryBuilder(field, pattern.replace("\\", "\\\\").replace("?", "\\?"));
+  }
+
+  @Override
+  public void exitInComparison(SearchParser.InComparisonContext ctx) {
+    final String left = SearchUtil.jsonPropertyToOpenProperty(ctx.field().getText());
+    List<Object> right = new ArrayList<Object>(ctx.value().size());
+
+    for (SearchParser.ValueContext value : ctx.value())
+      right.add(Antlr4SearchListener.value(left, value, true));
+    this.add(new TermsQueryBuilder(left, right), ctx.NOT() != null);
+  }
+
+  @Override
+  public void exitExistsComparison(SearchParser.ExistsComparisonContext ctx) {
+    final String left = SearchUtil.jsonPropertyToOpenProperty(ctx.field().getText());
+
+    this.add(new ExistsQueryBuilder(left), ctx.NOT() != null);
+  }
+
+  @Override
+  public void exitBetweenComparison(SearchParser.BetweenComparisonContext ctx) {
+    final String left = SearchUtil.jsonPropertyToOpenProperty(ctx.field().getText());
+
+    this.add(new RangeQueryBuilder(left).gte(Antlr4SearchListener.value(left, ctx.value(0), false))
+        .lte(Antlr4SearchListener.value(left, ctx.value(1), false)), ctx.NOT() != null);
+  }
+
+  private void add(QueryBuilder comparator, boolean not) {
+    QueryPlanner.Node leaf = new QueryPlanner.Leaf(comparator, false);
+    this.group.nodes.add(not ? QueryPlanner.not(leaf) : leaf);
+  }
+
+  private static Object value(String field, SearchParser.ValueContext ctx, boolean term) {
+    String value = ctx.getText();
+
+    if (ctx.STRINGVAL() != null)
+      value = value.substring(1, value.length() - 1);
+    return term ? TypedValue.term(field, MappingCatalog.type(field), value)
+        : TypedValue.of(field, MappingCatalog.type(field), value);
   }
 
   @Override
@@ -0,0 +1,35 @@
+package gov.nasa.pds.api.registry.model;
+
+import gov.nasa.pds.api.registry.LidvidsContext;
+
+class Bounded implements LidvidsContext {
+  final private String lidvid;
+  final private int start;
+  final private int limit;
+
+  Bounded(String id, int start, int limit) {
+    this.lidvid = id;
+    this.start = start;
+    this.limit = limit;
+  }
+
+  @Override
+  public String getLidVid() {
+    return this.lidvid;
+  }
+
+  @Override
+  public Integer getLimit() {
+    return this.limit;
+  }
+
+  @Override
+  public Integer getStart() {
+    return this.start;
+  }
+
+  @Override
+  public boolean getSingletonResultExpected() {
+    return false;
+  }
+}
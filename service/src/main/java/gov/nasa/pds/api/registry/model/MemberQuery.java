@@ -0,0 +1,125 @@
+package gov.nasa.pds.api.registry.model;
+
+import java.io.IOException;
+import java.util.List;
+
+import jakarta.annotation.PostConstruct;
+
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.indices.TermsLookup;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import gov.nasa.pds.api.registry.ControlContext;
+import gov.nasa.pds.api.registry.UserContext;
+import gov.nasa.pds.api.registry.search.RequestBuildContextFactory;
+import gov.nasa.pds.api.registry.search.RequestConstructionContextFactory;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
+import gov.nasa.pds.api.registry.search.SearchRequestFactory;
+
+/**
+ * Express "the products listed in the registry-refs pages of these collections" as a query so that
+ * filtering by q and keywords, counting and paging of members all stay in opensearch.
+ *
+ * Every registry-refs page becomes a terms lookup on its product_lidvid array. Collections with too
+ * many pages for one bool query, and pages deeper than max_result_window, keep being expanded in
+ * the service. When such a request has q or keywords, the members expanded in the service are
+ * listed in terms queries instead so that the filter is still applied before paging and counting,
+ * in chunks when they are too many for one query or the page is deeper than max_result_window.
+ */
+@Component
+public class MemberQuery {
+  private static final Logger log = LoggerFactory.getLogger(MemberQuery.class);
+  private static final int MAX_LOOKUPS = 512; // well under indices.query.bool.max_clause_count
+  private static final int MAX_RESULT_WINDOW = 10000;
+  private static final int MAX_TERMS = 65536; // opensearch default index.max_terms_count
+
+  @Value("${registry.members.pushdown:true}")
+  private boolean propPushdown;
+  private static boolean pushdown = true;
+
+  @PostConstruct
+  public void init() {
+    MemberQuery.pushdown = this.propPushdown;
+  }
+
+  /**
+   * @return true if the latest members asked for by the user should be found with of()
+   */
+  static boolean applies(UserContext input) {
+    return MemberQuery.pushdown && input.getSelector() != ProductVersionSelector.ALL
+        && MemberQuery.windowed(input)
+        && (MemberQuery.filtered(input) || !MembershipIndex.isEnabled());
+  }
+
+  /**
+   * @return true if the user asked for members matching q or keywords
+   */
+  static boolean filtered(UserContext input) {
+    return (input.getQuery() != null && !input.getQuery().isBlank())
+        || (input.getKeywords() != null && !input.getKeywords().isEmpty());
+  }
+
+  private static boolean windowed(UserContext input) {
+    return (long) input.getStart() + input.getLimit() <= MAX_RESULT_WINDOW;
+  }
+
+  /**
+   * @return a filter matching exactly the members expanded in the service or null if they are too
+   *         many for one terms query or the page is deeper than max_result_window
+   */
+  static QueryBuilder listed(UserContext input, List<String> members) {
+    if (MAX_TERMS < members.size() || !MemberQuery.windowed(input))
+      return null;
+    return MemberQuery.listed(members);
+  }
+
+  /**
+   * @return a filter matching exactly the members, at most index.max_terms_count of them
+   */
+  static QueryBuilder listed(List<String> members) {
+    if (members.isEmpty())
+      return QueryBuilders.idsQuery(); // an empty terms query is rejected by opensearch
+    return QueryBuilders.termsQuery("lidvid", members);
+  }
+
+  /**
+   * @return a filter matching the latest members of the collections or null if they have too many
+   *         registry-refs pages to be looked up in one query
+   */
+  static QueryBuilder of(ControlContext control, List<String> collections) throws IOException {
+    BoolQueryBuilder members = QueryBuilders.boolQuery().minimumShouldMatch(1);
+    String refIndex = control.getConnection().getRegistryRefIndex();
+
+    if (refIndex.contains(":"))
+      return null; // terms lookups cannot read from remote clusters
+
+    SearchRequest request = new SearchRequestFactory(
+        RequestConstructionContextFactory.given("collection_lidvid", collections, true),
+        control.getConnection()).build(RequestBuildContextFactory.empty(), refIndex);
+
+    request.source().size(MAX_LOOKUPS + 1).fetchSource(false);
+    SearchHits pages =
+        SearchExecutor.search(control.getConnection().getRestHighLevelClient(), request).getHits();
+
+    if (MAX_LOOKUPS < pages.getHits().length) {
+      log.info("Too many registry-refs pages to look up the members of " + collections);
+      return null;
+    }
+
+    if (pages.getHits().length == 0)
+      return QueryBuilders.idsQuery(); // an empty bool query would match everything
+
+    for (SearchHit page : pages)
+      members.should(QueryBuilders.termsLookupQuery("lidvid",
+          new TermsLookup(page.getIndex(), page.getId(), "product_lidvid")));
+    return members;
+  }
+}
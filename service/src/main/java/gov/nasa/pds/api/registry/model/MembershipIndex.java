@@ -0,0 +1,386 @@
+package gov.nasa.pds.api.registry.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.Striped;
+
+import gov.nasa.pds.api.registry.LidvidsContext;
+import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
+import gov.nasa.pds.api.registry.model.identifiers.PdsLidVid;
+
+/**
+ * Optional on-disk index of the latest members of large collections.
+ *
+ * When registry.membership.index.dir is set, the members of every collection with at least
+ * registry.membership.index.minMembers members are read from registry-refs once, front coded in
+ * blocks and written to a file named after the collection LIDVID. Later pages are read from the
+ * memory-mapped file by jumping to the block holding start, so a page costs O(limit) no matter the
+ * size of the collection, and the files survive restarts. A new version of the collection is a new
+ * LIDVID and therefore a new index, which deletes the files of the versions it supersedes. Since a
+ * collection may still be harvested again, a file records the registry-refs count it was built
+ * from and is rebuilt when that count changed by the time it is mapped again.
+ *
+ * Unlike a classic front coded dictionary, members are not sorted but kept in registry-refs order,
+ * the order of the pages read without the index, so that both paths page the same way. Prefixes are
+ * therefore only shared where registry-refs happens to list neighbouring LIDVIDs, which it mostly
+ * does. At most registry.membership.index.maxMapped files are mapped at once, the least recently
+ * used is unmapped as soon as no page is being read from it.
+ *
+ * File layout: magic, version, member count, block size, registry-refs count (4 byte ints), the
+ * absolute offset of every block (8 byte longs), then the blocks. The first LIDVID of a block is
+ * stored whole, every other as the length of the prefix it shares with the previous LIDVID and the
+ * remaining suffix. Lengths are unsigned LEB128 varints.
+ */
+@Component
+public class MembershipIndex {
+  private static final Logger log = LoggerFactory.getLogger(MembershipIndex.class);
+  private static final int MAGIC = 0x504d4958; // PMIX
+  private static final int VERSION = 3; // 1 sorted the members, 2 had no registry-refs count
+  private static final int BLOCK_SIZE = 64;
+  private static final int HEADER_BYTES = 20;
+  private static final String SUFFIX = ".idx";
+  private static final String VERSIONS = URLEncoder.encode("::", StandardCharsets.UTF_8);
+  private static final int MAX_SMALL = 100000;
+
+  @Value("${registry.membership.index.dir:}")
+  private String propDirectory;
+
+  @Value("${registry.membership.index.minMembers:100000}")
+  private int propMinMembers;
+
+  @Value("${registry.membership.index.maxMapped:256}")
+  private int propMaxMapped;
+
+  private static Path directory = null;
+  private static int minMembers = 100000;
+  private static Cache<String, Mapping> mapped = MembershipIndex.mappings(256);
+  private static final Striped<Lock> building = Striped.lock(64);
+  private static final Cache<String, Boolean> small =
+      CacheBuilder.newBuilder().maximumSize(MAX_SMALL).build();
+
+  /**
+   * A mapped index file that is unmapped once it is evicted and no page is being read from it.
+   */
+  private static final class Mapping {
+    final ByteBuffer buffer;
+    private int readers = 0;
+    private boolean evicted = false;
+
+    Mapping(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    synchronized boolean acquire() {
+      if (this.evicted)
+        return false;
+      this.readers++;
+      return true;
+    }
+
+    synchronized void release() {
+      if (--this.readers == 0 && this.evicted)
+        MembershipIndex.unmap(this.buffer);
+    }
+
+    synchronized void evict() {
+      this.evicted = true;
+      if (this.readers == 0)
+        MembershipIndex.unmap(this.buffer);
+    }
+  }
+
+  @FunctionalInterface
+  interface Counter {
+    int count(String lidvid) throws IOException;
+  }
+
+  @FunctionalInterface
+  interface Loader {
+    List<String> members(String lidvid) throws IOException, LidVidNotFoundException;
+  }
+
+  @PostConstruct
+  public void init() throws IOException {
+    if (this.propDirectory != null && !this.propDirectory.isBlank())
+      MembershipIndex.configure(Paths.get(this.propDirectory), this.propMinMembers,
+          this.propMaxMapped);
+  }
+
+  static void configure(Path directory, int minMembers, int maxMapped) throws IOException {
+    Files.createDirectories(directory);
+    try (DirectoryStream<Path> partials = Files.newDirectoryStream(directory, "*.partial")) {
+      for (Path partial : partials)
+        Files.deleteIfExists(partial); // left behind by a build that did not finish
+    }
+    log.info("Indexing collections with at least " + minMembers + " members in " + directory
+        + ", mapping at most " + maxMapped + " of them");
+    MembershipIndex.directory = directory;
+    MembershipIndex.minMembers = minMembers;
+    MembershipIndex.mapped.invalidateAll();
+    MembershipIndex.mapped = MembershipIndex.mappings(maxMapped);
+    MembershipIndex.small.invalidateAll();
+  }
+
+  private static Cache<String, Mapping> mappings(int maxMapped) {
+    return CacheBuilder.newBuilder().maximumSize(Math.max(1, maxMapped))
+        .removalListener((RemovalListener<String, Mapping>) removed -> removed.getValue().evict())
+        .build();
+  }
+
+  static boolean isEnabled() {
+    return MembershipIndex.directory != null;
+  }
+
+  /**
+   * @return the requested page of the collection or null when the collection is too small to index
+   */
+  static Pagination<String> page(LidvidsContext uid, Counter counter, Loader loader)
+      throws IOException, LidVidNotFoundException {
+    String lidvid = uid.getLidVid();
+    Mapping index = MembershipIndex.mapped.getIfPresent(lidvid);
+
+    while (index == null || !index.acquire()) {
+      if (MembershipIndex.small.getIfPresent(lidvid) != null)
+        return null;
+
+      Lock lock = MembershipIndex.building.get(lidvid);
+      lock.lock();
+      try {
+        index = MembershipIndex.mapped.getIfPresent(lidvid);
+        if (index == null) {
+          ByteBuffer opened = MembershipIndex.open(lidvid, counter, loader);
+          if (opened == null) {
+            MembershipIndex.small.put(lidvid, Boolean.TRUE);
+            return null;
+          }
+          index = new Mapping(opened);
+          MembershipIndex.mapped.put(lidvid, index);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    try {
+      PaginationLidvidBuilder page = new PaginationLidvidBuilder(uid);
+      page.addSlice(
+          MembershipIndex.read(index.buffer.duplicate(), uid.getStart(), uid.getLimit()),
+          index.buffer.getInt(8));
+      return page;
+    } finally {
+      index.release();
+    }
+  }
+
+  private static ByteBuffer open(String lidvid, Counter counter, Loader loader)
+      throws IOException, LidVidNotFoundException {
+    Path file = MembershipIndex.file(lidvid);
+    int refs = counter.count(lidvid);
+
+    if (Files.exists(file)) {
+      ByteBuffer index = MembershipIndex.map(file);
+      if (index.getInt(0) == MAGIC && index.getInt(4) == VERSION && index.getInt(16) == refs)
+        return index;
+      MembershipIndex.unmap(index);
+      log.warn("Rebuilding outdated or unreadable membership index " + file);
+    }
+
+    if (refs < MembershipIndex.minMembers) {
+      Files.deleteIfExists(file);
+      return null;
+    }
+
+    log.info("Building the membership index of " + lidvid);
+    MembershipIndex.write(file, loader.members(lidvid), refs);
+    MembershipIndex.supersede(lidvid);
+    return MembershipIndex.map(file);
+  }
+
+  private static Path file(String lidvid) {
+    return MembershipIndex.directory
+        .resolve(URLEncoder.encode(lidvid, StandardCharsets.UTF_8) + SUFFIX);
+  }
+
+  /**
+   * Delete the files of the older versions of the collection, they are rebuilt should one of those
+   * versions be asked for again.
+   */
+  private static void supersede(String lidvid) throws IOException {
+    PdsLidVid current;
+    String prefix;
+
+    try {
+      current = PdsLidVid.fromString(lidvid);
+    } catch (IllegalArgumentException e) {
+      return;
+    }
+    prefix = URLEncoder.encode(current.getLid().toString(), StandardCharsets.UTF_8);
+
+    try (DirectoryStream<Path> versions =
+        Files.newDirectoryStream(MembershipIndex.directory, prefix + VERSIONS + "*" + SUFFIX)) {
+      for (Path version : versions) {
+        String name = version.getFileName().toString();
+        String other = URLDecoder.decode(name.substring(0, name.length() - SUFFIX.length()),
+            StandardCharsets.UTF_8);
+
+        try {
+          PdsLidVid older = PdsLidVid.fromString(other);
+          if (older.getLid().equals(current.getLid()) && older.compareTo(current) < 0) {
+            log.info("Deleting the membership index of superseded " + other);
+            MembershipIndex.mapped.invalidate(other);
+            Files.deleteIfExists(version);
+          }
+        } catch (IllegalArgumentException e) {
+          log.debug("Ignoring membership index " + name + ": " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  private static ByteBuffer map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * Release the mapping now rather than when the buffer is garbage collected, which may be long
+   * after the file was evicted. Without access to the cleaner it is left to the garbage collector.
+   */
+  private static void unmap(ByteBuffer buffer) {
+    try {
+      Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      Object unsafe = field.get(null);
+      unsafe.getClass().getMethod("invokeCleaner", ByteBuffer.class).invoke(unsafe, buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.debug("Leaving a membership index to be unmapped by the garbage collector: " + e);
+    }
+  }
+
+  static void write(Path file, List<String> members, int refs) throws IOException {
+    List<byte[]> encoded = new ArrayList<byte[]>();
+    Path partial = Files.createTempFile(file.getParent(), "membership", ".partial");
+
+    for (String member : members)
+      encoded.add(member.getBytes(StandardCharsets.UTF_8));
+
+    int blocks = (encoded.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    long[] offsets = new long[blocks];
+    long position = HEADER_BYTES + 8L * blocks;
+
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(partial, StandardOpenOption.WRITE)))) {
+      byte[] previous = null;
+
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(encoded.size());
+      out.writeInt(BLOCK_SIZE);
+      out.writeInt(refs);
+      out.write(new byte[8 * blocks]);
+      for (int i = 0; i < encoded.size(); i++) {
+        byte[] current = encoded.get(i);
+        int shared = 0;
+
+        if (i % BLOCK_SIZE == 0) {
+          offsets[i / BLOCK_SIZE] = position;
+          previous = null;
+        }
+        if (previous != null) {
+          int most = Math.min(previous.length, current.length);
+          while (shared < most && previous[shared] == current[shared])
+            shared++;
+          position += MembershipIndex.writeVarint(out, shared);
+        }
+        position += MembershipIndex.writeVarint(out, current.length - shared);
+        out.write(current, shared, current.length - shared);
+        position += current.length - shared;
+        previous = current;
+      }
+    }
+
+    try (RandomAccessFile raw = new RandomAccessFile(partial.toFile(), "rw")) {
+      raw.seek(HEADER_BYTES);
+      for (long offset : offsets)
+        raw.writeLong(offset);
+    }
+    Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  static List<String> read(ByteBuffer index, int start, int limit) {
+    int count = index.getInt(8), blockSize = index.getInt(12);
+    int end = (int) Math.min((long) start + limit, count);
+    List<String> members = new ArrayList<String>(Math.max(0, end - start));
+    byte[] previous = new byte[0];
+
+    if (end <= start)
+      return members;
+
+    index.position((int) index.getLong(HEADER_BYTES + 8 * (start / blockSize)));
+    for (int i = start - start % blockSize; i < end; i++) {
+      int shared = i % blockSize == 0 ? 0 : MembershipIndex.readVarint(index);
+      byte[] current = Arrays.copyOf(previous, shared + MembershipIndex.readVarint(index));
+
+      index.get(current, shared, current.length - shared);
+      if (start <= i)
+        members.add(new String(current, StandardCharsets.UTF_8));
+      previous = current;
+    }
+    return members;
+  }
+
+  private static int writeVarint(OutputStream out, int value) throws IOException {
+    int bytes = 1;
+
+    while ((value & ~0x7f) != 0) {
+      out.write((value & 0x7f) | 0x80);
+      value >>>= 7;
+      bytes++;
+    }
+    out.write(value);
+    return bytes;
+  }
+
+  private static int readVarint(ByteBuffer in) {
+    int value = 0;
+
+    for (int shift = 0;; shift += 7) {
+      byte b = in.get();
+      value |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0)
+        return value;
+    }
+  }
+}
@@ -33,6 +33,31 @@ class PaginationLidvidBuilder implements Pagination<String> {
     this.total += data.size();
   }
 
+  /**
+   * @return true once the page holds limit items and further data can only add to the total
+   */
+  boolean isFull() {
+    return this.limit <= this.page.size();
+  }
+
+  /**
+   * Replace the running total when the data was not all added, e.g. when it was counted instead.
+   */
+  void setTotal(int total) {
+    this.total = total;
+  }
+
+  /**
+   * Add data that was already sliced to this page, e.g. the page of a single collection read with
+   * its own start and limit, along with the count of all the data it was sliced from.
+   */
+  void addSlice(List<String> slice, int count) {
+    int room = Math.max(0, this.limit - this.page.size());
+
+    this.page.addAll(slice.subList(0, Math.min(room, slice.size())));
+    this.total += count;
+  }
+
   void add(Object sourceMapValue) {
     this.addAll(this.convert(sourceMapValue));
   }
@@ -1,42 +1,77 @@
 package gov.nasa.pds.api.registry.model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import jakarta.annotation.PostConstruct;
 
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CodePointCharStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.NamedWriteableAwareStreamInput;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import gov.nasa.pds.api.registry.GroupConstraint;
+import gov.nasa.pds.api.registry.RequestBuildContext;
 import gov.nasa.pds.api.registry.lexer.SearchLexer;
 import gov.nasa.pds.api.registry.lexer.SearchParser;
+import gov.nasa.pds.api.registry.search.MappingCatalog;
 
 @Component
 public class ProductQueryBuilderUtil {
   private static final Logger log = LoggerFactory.getLogger(ProductQueryBuilderUtil.class);
+  private static final String ARCHIVE_STATUS = "ops:Tracking_Meta/ops:archive_status";
+  private static final String SUPERSEDED_BY = "ops:Provenance/ops:superseded_by";
 
   @Value("${filter.archiveStatus}")
   private String propArchiveStatusFilter;
   private static List<String> archiveStatusFilter;
 
+  @Value("${registry.query.cacheSize:1000}")
+  private int propQueryCacheSize;
+  private static Cache<String, BoolQueryBuilder> planned =
+      CacheBuilder.newBuilder().maximumSize(1000).build();
+  private static final NamedWriteableRegistry QUERIES = new NamedWriteableRegistry(
+      new SearchModule(Settings.EMPTY, false, Collections.emptyList()).getNamedWriteables());
+
+  @Value("${registry.query.like.wildcards:false}")
+  private boolean propLikeWildcards;
+  private static boolean likeWildcards = false;
 
   /**
    * Init archive status filter
    */
   @PostConstruct
   public void init() {
+    ProductQueryBuilderUtil.planned = this.propQueryCacheSize <= 0 ? null
+        : CacheBuilder.newBuilder().maximumSize(this.propQueryCacheSize).build();
+    ProductQueryBuilderUtil.likeWildcards = this.propLikeWildcards;
+    ProductQueryBuilderUtil.warmup();
+
     if (propArchiveStatusFilter == null)
       return;
 
@@ -53,6 +88,26 @@ public class ProductQueryBuilderUtil {
     }
   }
 
+  /**
+   * Fill the DFA cache of the grammar, which is shared by all parsers, with every rule so that the
+   * first user queries are not the ones paying for prediction.
+   */
+  private static void warmup() {
+    for (String query : List.of("lid eq \"urn:nasa:pds:a\"",
+        "(ops:Harvest_Info/ops:harvest_date_time ge \"2020-01-01T00:00:00Z\" and version_id gt 1)",
+        "(title like \"mars*\" or not (product_class ne \"Product_Collection\"))",
+        "((a lt -1.5 and b le 2) or (c not like \"x\" and not (d eq 3)))",
+        "(a in (\"x\", 2) and b not exists and c not between 1 and \"z\")"))
+      ProductQueryBuilderUtil.parse(query);
+  }
+
+  /**
+   * @return true when like patterns with a leading or inner * are sent as wildcard queries
+   */
+  static boolean likeWildcards() {
+    return ProductQueryBuilderUtil.likeWildcards;
+  }
+
   public static void addArchiveStatusFilter(BoolQueryBuilder boolQuery) {
     log.debug("addArchiveStatusFilter: " + archiveStatusFilter);
 
@@ -60,11 +115,11 @@ public class ProductQueryBuilderUtil {
       return;
 
     boolQuery.must(
-        QueryBuilders.termsQuery("ops:Tracking_Meta/ops:archive_status", archiveStatusFilter));
+        QueryBuilders.termsQuery(ARCHIVE_STATUS, archiveStatusFilter));
   }
 
   public static void addHistoryStopband(BoolQueryBuilder boolQuery) {
-    boolQuery.mustNot(QueryBuilders.existsQuery("ops:Provenance/ops:superseded_by"));
+    boolQuery.mustNot(QueryBuilders.existsQuery(SUPERSEDED_BY));
   }
 
   public static void addPresetCriteria(BoolQueryBuilder boolQuery, GroupConstraint presetCriteria) {
@@ -87,16 +142,82 @@ public class ProductQueryBuilderUtil {
     }
   }
 
+  /**
+   * @return the fields that matches() reads from a document
+   */
+  public static List<String> criteriaFields(RequestBuildContext context) {
+    List<String> fields = new ArrayList<String>();
+
+    fields.add(ARCHIVE_STATUS);
+    fields.add(SUPERSEDED_BY);
+    if (context.getPresetCriteria() != null) {
+      fields.addAll(context.getPresetCriteria().filter().keySet());
+      fields.addAll(context.getPresetCriteria().must().keySet());
+      fields.addAll(context.getPresetCriteria().mustNot().keySet());
+    }
+    return fields;
+  }
+
+  /**
+   * Evaluate the archive status filter, the history stopband (when just the latest are wanted) and
+   * the preset criteria on the source of a document instead of in opensearch.
+   */
+  public static boolean matches(Map<String, Object> source, RequestBuildContext context) {
+    GroupConstraint preset = context.getPresetCriteria();
+
+    if (archiveStatusFilter != null && !archiveStatusFilter.isEmpty()
+        && archiveStatusFilter.stream().noneMatch(status -> has(source, ARCHIVE_STATUS, status)))
+      return false;
+    if (context.justLatest() && has(source, SUPERSEDED_BY, null))
+      return false;
+    if (preset != null) {
+      for (Map.Entry<String, List<String>> criterion : preset.must().entrySet())
+        if (!criterion.getValue().stream().allMatch(v -> has(source, criterion.getKey(), v)))
+          return false;
+      for (Map.Entry<String, List<String>> criterion : preset.filter().entrySet())
+        if (!criterion.getValue().stream().allMatch(v -> has(source, criterion.getKey(), v)))
+          return false;
+      for (Map.Entry<String, List<String>> criterion : preset.mustNot().entrySet())
+        if (criterion.getValue().stream().anyMatch(v -> has(source, criterion.getKey(), v)))
+          return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the field has the value, or any value when value is null
+   */
+  private static boolean has(Map<String, Object> source, String field, String value) {
+    Object actual = source.get(field);
+
+    if (actual instanceof Collection)
+      return ((Collection<?>) actual).stream()
+          .anyMatch(a -> a != null && (value == null || value.equals(String.valueOf(a))));
+    return actual != null && (value == null || value.equals(String.valueOf(actual)));
+  }
+
+  /**
+   * The query is planned once per normalized query and mapping catalog, whose field types decide
+   * how values are typed, and every request gets its own copy of the plan since the callers add
+   * their own criteria to it.
+   */
   public static BoolQueryBuilder parseQueryString(String queryString) {
-    CodePointCharStream input = CharStreams.fromString(queryString);
-    SearchLexer lex = new SearchLexer(input);
-    CommonTokenStream tokens = new CommonTokenStream(lex);
+    String normalized = ProductQueryBuilderUtil.normalize(queryString);
+    String key = MappingCatalog.etag() + " " + normalized;
+    Cache<String, BoolQueryBuilder> cache = ProductQueryBuilderUtil.planned;
+    BoolQueryBuilder plan = cache == null ? null : cache.getIfPresent(key);
 
-    SearchParser par = new SearchParser(tokens);
-    par.setErrorHandler(new BailErrorStrategy());
-    ParseTree tree = par.query();
+    if (plan == null) {
+      plan = ProductQueryBuilderUtil.plan(normalized);
+      if (cache == null)
+        return plan;
+      cache.put(key, plan);
+    }
+    return ProductQueryBuilderUtil.copy(plan);
+  }
 
-    log.debug(tree.toStringTree(par));
+  private static BoolQueryBuilder plan(String queryString) {
+    ParseTree tree = ProductQueryBuilderUtil.parse(queryString);
 
     // Walk it and attach our listener
     ParseTreeWalker walker = new ParseTreeWalker();
@@ -106,4 +227,66 @@ public class ProductQueryBuilderUtil {
     return listener.getBoolQuery();
   }
 
+  /**
+   * Deep copy through the binary transport serialization, much cheaper than planning again.
+   */
+  private static BoolQueryBuilder copy(BoolQueryBuilder plan) {
+    try (BytesStreamOutput out = new BytesStreamOutput()) {
+      out.writeNamedWriteable(plan);
+      try (StreamInput in =
+          new NamedWriteableAwareStreamInput(out.bytes().streamInput(), QUERIES)) {
+        return (BoolQueryBuilder) in.readNamedWriteable(QueryBuilder.class);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Collapse the white space outside of quoted strings, which the lexer skips anyway.
+   */
+  static String normalize(String queryString) {
+    StringBuilder normalized = new StringBuilder(queryString.length());
+    boolean quoted = false;
+    boolean space = false;
+
+    for (char c : queryString.strip().toCharArray()) {
+      if (!quoted && Character.isWhitespace(c)) {
+        space = true;
+        continue;
+      }
+      if (space)
+        normalized.append(' ');
+      space = false;
+      quoted = c == '"' ? !quoted : quoted;
+      normalized.append(c);
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Parse with SLL prediction, which is enough for nearly every query and much cheaper, and only
+   * parse again with full LL when SLL fails. A query that LL cannot parse either is invalid.
+   */
+  static ParseTree parse(String queryString) {
+    CommonTokenStream tokens =
+        new CommonTokenStream(new SearchLexer(CharStreams.fromString(queryString)));
+    SearchParser par = new SearchParser(tokens);
+    ParseTree tree;
+
+    par.setErrorHandler(new BailErrorStrategy());
+    par.getInterpreter().setPredictionMode(PredictionMode.SLL);
+    try {
+      tree = par.query();
+    } catch (ParseCancellationException e) {
+      tokens.seek(0);
+      par.reset();
+      par.getInterpreter().setPredictionMode(PredictionMode.LL);
+      tree = par.query();
+    }
+
+    log.debug(tree.toStringTree(par));
+    return tree;
+  }
+
 }
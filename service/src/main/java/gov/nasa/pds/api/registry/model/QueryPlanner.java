@@ -0,0 +1,129 @@
+package gov.nasa.pds.api.registry.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+
+/**
+ * Turns the boolean expression of a q parameter into the opensearch bool query.
+ *
+ * The listener only builds the leaf queries and records how they are combined. The planner then
+ * flattens nested groups with the same conjunction, puts the leaves that do not need a score (term,
+ * range, ...) in filter context where opensearch can cache them per shard, keeps the scoring ones
+ * (full text) in must, and makes OR a should with minimum_should_match of 1.
+ */
+class QueryPlanner {
+  /**
+   * A node of the expression: a leaf query, a negation, or a conjunction of nodes.
+   */
+  static abstract class Node {
+    abstract boolean scoring();
+  }
+
+  static class Leaf extends Node {
+    final QueryBuilder query;
+    final boolean scoring;
+
+    Leaf(QueryBuilder query, boolean scoring) {
+      this.query = query;
+      this.scoring = scoring;
+    }
+
+    @Override
+    boolean scoring() {
+      return this.scoring;
+    }
+  }
+
+  static class Not extends Node {
+    final Node negated;
+
+    Not(Node negated) {
+      this.negated = negated;
+    }
+
+    @Override
+    boolean scoring() {
+      return false; // must_not never scores
+    }
+  }
+
+  static class Group extends Node {
+    final boolean or;
+    final List<Node> nodes = new ArrayList<Node>();
+
+    Group(boolean or) {
+      this.or = or;
+    }
+
+    @Override
+    boolean scoring() {
+      return this.nodes.stream().anyMatch(Node::scoring);
+    }
+  }
+
+  static Node not(Node node) {
+    return node instanceof Not ? ((Not) node).negated : new Not(node);
+  }
+
+  /**
+   * @return the single node of a group of one, and the group with the nodes of nested groups of the
+   *         same conjunction merged into it otherwise
+   */
+  static Node flatten(Group group) {
+    Group flat = new Group(group.or);
+
+    for (Node node : group.nodes)
+      if (node instanceof Group && ((Group) node).or == group.or)
+        flat.nodes.addAll(((Group) QueryPlanner.flatten((Group) node)).nodes);
+      else
+        flat.nodes.add(node);
+    return flat.nodes.size() == 1 ? flat.nodes.get(0) : flat;
+  }
+
+  static BoolQueryBuilder plan(Node root) {
+    BoolQueryBuilder bool = new BoolQueryBuilder();
+
+    if (root instanceof Group && !((Group) root).or)
+      for (Node node : ((Group) root).nodes)
+        QueryPlanner.add(bool, node);
+    else if (root instanceof Group && root.scoring())
+      QueryPlanner.should(bool, (Group) root);
+    else
+      QueryPlanner.add(bool, root);
+    return bool;
+  }
+
+  private static void add(BoolQueryBuilder bool, Node node) {
+    if (node instanceof Not)
+      bool.mustNot(QueryPlanner.query(((Not) node).negated));
+    else if (node.scoring())
+      bool.must(QueryPlanner.query(node));
+    else
+      bool.filter(QueryPlanner.query(node));
+  }
+
+  private static void should(BoolQueryBuilder bool, Group or) {
+    for (Node node : or.nodes)
+      bool.should(QueryPlanner.query(node));
+    bool.minimumShouldMatch(1);
+  }
+
+  private static QueryBuilder query(Node node) {
+    if (node instanceof Leaf)
+      return ((Leaf) node).query;
+
+    BoolQueryBuilder bool = new BoolQueryBuilder();
+
+    if (node instanceof Not)
+      bool.mustNot(QueryPlanner.query(((Not) node).negated));
+    else if (((Group) node).or)
+      QueryPlanner.should(bool, (Group) node);
+    else
+      for (Node child : ((Group) node).nodes)
+        QueryPlanner.add(bool, child);
+    return bool;
+  }
+}
@@ -3,6 +3,7 @@ package gov.nasa.pds.api.registry.model;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,8 +15,9 @@ import gov.nasa.pds.api.registry.RequestBuildContext;
 import gov.nasa.pds.api.registry.model.identifiers.LidVidUtils;
 import gov.nasa.pds.api.registry.model.identifiers.PdsLidVid;
 import gov.nasa.pds.api.registry.model.identifiers.PdsProductIdentifier;
+import org.opensearch.OpenSearchException;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.client.RequestOptions;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.slf4j.Logger;
@@ -34,6 +36,7 @@ import gov.nasa.pds.api.registry.exceptions.MembershipException;
 import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
 import gov.nasa.pds.api.registry.search.RequestBuildContextFactory;
 import gov.nasa.pds.api.registry.search.RequestConstructionContextFactory;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
 import gov.nasa.pds.api.registry.search.SearchRequestFactory;
 import gov.nasa.pds.api.registry.util.GroupConstraintImpl;
 
@@ -72,8 +75,9 @@ class RefLogicBundle extends RefLogicAny implements ReferencingLogic {
 
     // Call opensearch
     SearchHit hit;
-    SearchHits hits = ctlContext.getConnection().getRestHighLevelClient()
-        .search(request, RequestOptions.DEFAULT).getHits();
+    SearchHits hits =
+        SearchExecutor.search(ctlContext.getConnection().getRestHighLevelClient(), request)
+            .getHits();
     if (hits == null || hits.getTotalHits() == null || hits.getTotalHits().value != 1)
       throw new LidVidNotFoundException(idContext.getLidVid());
     else
@@ -122,8 +126,9 @@ class RefLogicBundle extends RefLogicAny implements ReferencingLogic {
 
     // Call opensearch
     SearchHit hit;
-    SearchHits hits = ctlContext.getConnection().getRestHighLevelClient()
-        .search(request, RequestOptions.DEFAULT).getHits();
+    SearchHits hits =
+        SearchExecutor.search(ctlContext.getConnection().getRestHighLevelClient(), request)
+            .getHits();
     if (hits == null || hits.getTotalHits() == null || hits.getTotalHits().value != 1)
       throw new LidVidNotFoundException(idContext.getLidVid());
     else
@@ -164,18 +169,18 @@ class RefLogicBundle extends RefLogicAny implements ReferencingLogic {
     }
 
     // Get the latest versions of LIDs
-    List<PdsProductIdentifier> productIdentifiers =
-        lidStrings.stream().map(PdsProductIdentifier::fromString).collect(Collectors.toList());
+    List<String> lids = lidStrings.stream().map(PdsProductIdentifier::fromString)
+        .map(id -> id.getLid().toString()).collect(Collectors.toList());
     RequestBuildContext reqContext = RequestBuildContextFactory.given(true, "lid",
         ReferencingLogicTransmuter.Collection.impl().constraints());
-    for (PdsProductIdentifier id : productIdentifiers) {
-      try {
-        PdsLidVid latestLidVid =
-            LidVidUtils.getLatestLidVidByLid(ctlContext, reqContext, id.getLid().toString());
-        lidvids.add(latestLidVid.toString());
-      } catch (LidVidNotFoundException e) {
+    Map<String, PdsLidVid> latestLidVids =
+        LidVidUtils.getLatestLidVidsByLids(ctlContext, reqContext, lids);
+    for (String lid : lids) {
+      if (latestLidVids.containsKey(lid)) {
+        lidvids.add(latestLidVids.get(lid).toString());
+      } else {
         log.warn("LID is referenced but is in non-findable archive-status or does not exist in db: "
-            + e.toString());
+            + lid);
       }
     }
 
@@ -186,8 +191,48 @@ class RefLogicBundle extends RefLogicAny implements ReferencingLogic {
       LidvidsContext uid) throws ApplicationTypeException, IOException, LidVidNotFoundException {
     log.info("Find grandchildren of a bundle");
     PaginationLidvidBuilder ids = new PaginationLidvidBuilder(uid);
-    for (String cid : getBundleCollectionLidVids(new Unlimited(uid.getLidVid()), control).page()) {
-      ids.addAll(RefLogicCollection.children(control, selection, new Unlimited(cid)).page());
+    List<String> collections =
+        getBundleCollectionLidVids(new Unlimited(uid.getLidVid()), control).page();
+
+    if (selection != ProductVersionSelector.ALL) {
+      try {
+        return RefLogicBundle.grandchildrenCounted(control, uid, collections,
+            RefLogicCollection.countChildren(control, collections));
+      } catch (IOException | OpenSearchException e) {
+        log.warn("Could not count the members of the collections of " + uid.getLidVid()
+            + ", fetching all of them instead: " + e.getMessage());
+      }
+    }
+
+    ReferenceFanOut.expand(ids, collections,
+        cid -> RefLogicCollection.children(control, selection, new Unlimited(cid)));
+    return ids;
+  }
+
+  /**
+   * Read only the collections that overlap the requested page. Collections before or after it
+   * contribute their count to the total without being read. The counts are the lengths of the
+   * registry-refs lists the members are sliced from, the same total RefLogicCollection gives the
+   * members of each collection, so both endpoints agree on the same products.
+   */
+  private static Pagination<String> grandchildrenCounted(ControlContext control,
+      LidvidsContext uid, List<String> collections, Map<String, Integer> counts)
+      throws IOException, LidVidNotFoundException {
+    PaginationLidvidBuilder ids = new PaginationLidvidBuilder(uid);
+    int seen = 0;
+
+    for (String cid : collections) {
+      int count = counts.get(cid);
+
+      if (seen + count <= uid.getStart() || ids.isFull())
+        ids.addSlice(Collections.emptyList(), count);
+      else {
+        Pagination<String> members = RefLogicCollection.children(control,
+            ProductVersionSelector.LATEST, new Bounded(cid, Math.max(0, uid.getStart() - seen),
+                uid.getLimit() - ids.size()));
+        ids.addSlice(members.page(), count);
+      }
+      seen += count;
     }
     return ids;
   }
@@ -203,6 +248,27 @@ class RefLogicBundle extends RefLogicAny implements ReferencingLogic {
   public RequestAndResponseContext member(ControlContext context, UserContext input,
       boolean twoSteps) throws ApplicationTypeException, IOException, LidVidNotFoundException,
       MembershipException, UnknownGroupNameException {
+    if (twoSteps && MemberQuery.applies(input)) {
+      try {
+        QueryBuilder members = MemberQuery.of(context,
+            getBundleCollectionLidVids(new Unlimited(input.getLidVid()), context).page());
+        if (members != null)
+          return RequestAndResponseContext.buildRequestAndResponseContext(context, input, members);
+      } catch (OpenSearchException e) {
+        log.warn("Could not look up the members of the collections of " + input.getLidVid()
+            + " in opensearch: " + e.getMessage());
+      }
+    }
+    if (MemberQuery.filtered(input)) {
+      Unlimited unlimited = new Unlimited(input.getLidVid());
+      List<String> all =
+          twoSteps ? RefLogicBundle.grandchildren(context, input.getSelector(), unlimited).page()
+              : RefLogicBundle.children(context, input.getSelector(), unlimited).page();
+      QueryBuilder members = MemberQuery.listed(input, all);
+      if (members != null)
+        return RequestAndResponseContext.buildRequestAndResponseContext(context, input, members);
+      return RequestAndResponseContext.buildRequestAndResponseContext(context, input, all);
+    }
     if (twoSteps)
       return RequestAndResponseContext.buildRequestAndResponseContext(context, input,
           RefLogicBundle.grandchildren(context, input.getSelector(), input));
@@ -6,10 +6,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import gov.nasa.pds.api.registry.ControlContext;
 import gov.nasa.pds.api.registry.GroupConstraint;
@@ -19,10 +19,15 @@ import gov.nasa.pds.api.registry.RequestConstructionContext;
 import gov.nasa.pds.api.registry.RequestBuildContext;
 import gov.nasa.pds.api.registry.UserContext;
 import gov.nasa.pds.api.registry.model.identifiers.LidVidUtils;
-import gov.nasa.pds.api.registry.model.identifiers.PdsLid;
 import gov.nasa.pds.api.registry.model.identifiers.PdsLidVid;
 import gov.nasa.pds.api.registry.model.identifiers.PdsProductIdentifier;
+import org.opensearch.OpenSearchException;
 import org.opensearch.action.search.SearchRequest;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.script.Script;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Sum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,12 +40,14 @@ import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
 import gov.nasa.pds.api.registry.search.HitIterator;
 import gov.nasa.pds.api.registry.search.RequestBuildContextFactory;
 import gov.nasa.pds.api.registry.search.RequestConstructionContextFactory;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
 import gov.nasa.pds.api.registry.search.SearchRequestFactory;
 import gov.nasa.pds.api.registry.util.GroupConstraintImpl;
 
 @Immutable
 class RefLogicCollection extends RefLogicAny implements ReferencingLogic {
   private static final Logger log = LoggerFactory.getLogger(RefLogicCollection.class);
+  private static final String MEMBER_COUNT_SCRIPT = "doc['product_lidvid'].size()";
 
   @Override
   public GroupConstraint constraints() {
@@ -52,28 +59,42 @@ class RefLogicCollection extends RefLogicAny implements ReferencingLogic {
   static Pagination<String> children(ControlContext control, ProductVersionSelector selection,
       LidvidsContext uid) throws IOException, LidVidNotFoundException {
     log.info("Find children of a collection -- both all and latest");
-    return selection == ProductVersionSelector.ALL ? RefLogicCollection.childrenAll(control, uid)
-        : RefLogicCollection.childrenLatest(control, uid);
+    if (selection == ProductVersionSelector.ALL)
+      return RefLogicCollection.childrenAll(control, uid);
+
+    if (MembershipIndex.isEnabled()) {
+      Pagination<String> indexed = MembershipIndex.page(uid,
+          lidvid -> RefLogicCollection.countChildren(control, lidvid),
+          lidvid -> RefLogicCollection.childrenLatest(control, new Unlimited(lidvid)).page());
+      if (indexed != null)
+        return indexed;
+    }
+    return RefLogicCollection.childrenLatest(control, uid);
   }
 
   private static Pagination<String> childrenAll(ControlContext control, LidvidsContext uid)
       throws IOException, LidVidNotFoundException {
     PaginationLidvidBuilder productLidvids = new PaginationLidvidBuilder(uid);
 
-    for (final Map<String, Object> kvp : new HitIterator(
-        control.getConnection().getRestHighLevelClient(),
+    try (HitIterator pages = new HitIterator(control.getConnection().getRestHighLevelClient(),
         new SearchRequestFactory(
             RequestConstructionContextFactory.given("collection_lidvid", uid.getLidVid(), true),
             control.getConnection()).build(RequestBuildContextFactory.given(false, "product_lid"),
                 control.getConnection().getRegistryRefIndex()))) {
-      productLidvids.addAll(LidVidUtils.getAllLidVidsByLids(control,
-          RequestBuildContextFactory.given(false, "lidvid",
-              ReferencingLogicTransmuter.NonAggregateProduct.impl().constraints()),
-          productLidvids.convert(kvp.get("product_lid"))));
+      for (final Map<String, Object> kvp : pages) {
+        LidVidUtils.getAllLidVidsByLids(control,
+            RequestBuildContextFactory.given(false, "lidvid",
+                ReferencingLogicTransmuter.NonAggregateProduct.impl().constraints()),
+            productLidvids.convert(kvp.get("product_lid")), productLidvids::addAll);
+      }
     }
     return productLidvids;
   }
 
+  /**
+   * The page is sliced from the product_lidvid lists of registry-refs, superseded members
+   * included, so its total is the length of those lists rather than a count of latest products.
+   */
   private static Pagination<String> childrenLatest(ControlContext control, LidvidsContext uid)
       throws IOException, LidVidNotFoundException {
     PaginationLidvidBuilder productLidvids = new PaginationLidvidBuilder(uid);
@@ -86,19 +107,66 @@ class RefLogicCollection extends RefLogicAny implements ReferencingLogic {
         new SearchRequestFactory(requestConstructionContext, control.getConnection())
             .build(requestBuildContext, registryRefIndex);
 
-    HitIterator pagesOfResults =
-        new HitIterator(control.getConnection().getRestHighLevelClient(), searchRequest);
+    boolean countable = true;
+    try (HitIterator pagesOfResults =
+        new HitIterator(control.getConnection().getRestHighLevelClient(), searchRequest)) {
+      for (final Map<String, Object> page : pagesOfResults) {
+        // Every "hit" is a page containing n lidvids, where n is presumably determined by
+        // OpenSearch configuration
+        Object collectionOfLidvids = page.get("product_lidvid");
+        productLidvids.add(collectionOfLidvids);
 
-    for (final Map<String, Object> page : pagesOfResults) {
-      // Every "hit" is a page containing n lidvids, where n is presumably determined by OpenSearch
-      // configuration
-      Object collectionOfLidvids = page.get("product_lidvid");
-      productLidvids.add(collectionOfLidvids);
+        // stop once the requested page is full and count the rest instead of fetching them
+        if (countable && productLidvids.isFull() && pagesOfResults.hasNext()) {
+          try {
+            productLidvids.setTotal(RefLogicCollection.countChildren(control, uid.getLidVid()));
+            break;
+          } catch (IOException | OpenSearchException e) {
+            log.warn("Could not count the members of " + uid.getLidVid()
+                + ", fetching all of them instead: " + e.getMessage());
+            countable = false;
+          }
+        }
+      }
     }
 
     return productLidvids;
   }
 
+  private static int countChildren(ControlContext control, String lidvid) throws IOException {
+    return RefLogicCollection.countChildren(control, Arrays.asList(lidvid)).get(lidvid);
+  }
+
+  /**
+   * Count the product lidvids of collections by summing the length of the product_lidvid array of
+   * every registry-refs page rather than fetching them.
+   *
+   * @return the count of every collection in the order given, zero for unknown collections
+   */
+  static Map<String, Integer> countChildren(ControlContext control, List<String> lidvids)
+      throws IOException {
+    Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+    SearchRequest request = new SearchRequestFactory(
+        RequestConstructionContextFactory.given("collection_lidvid", lidvids, true),
+        control.getConnection()).build(RequestBuildContextFactory.given(true, "product_lidvid"),
+            control.getConnection().getRegistryRefIndex());
+    request.source().size(0).trackTotalHits(false).fetchSource(false)
+        .aggregation(AggregationBuilders.terms("collections").field("collection_lidvid")
+            .size(Math.max(1, lidvids.size())).subAggregation(
+                AggregationBuilders.sum("members").script(new Script(MEMBER_COUNT_SCRIPT))));
+    Terms collections = SearchExecutor
+        .search(control.getConnection().getRestHighLevelClient(), request).getAggregations()
+        .get("collections");
+
+    for (String lidvid : lidvids)
+      counts.put(lidvid, 0);
+    for (Terms.Bucket bucket : collections.getBuckets()) {
+      Sum members = bucket.getAggregations().get("members");
+      counts.put(bucket.getKeyAsString(), (int) members.getValue());
+    }
+    return counts;
+  }
+
   static Pagination<String> parents(ControlContext control, ProductVersionSelector selection,
       LidvidsContext uid) throws IOException, LidVidNotFoundException {
     // TODO: Fully convert this function's internals (and eventually, interface) to use
@@ -114,37 +182,34 @@ class RefLogicCollection extends RefLogicAny implements ReferencingLogic {
     log.info("Find parents of collection: " + uid.getLidVid() + "  --- "
         + productIdentifier.getLid().toString());
     for (String key : keys) {
-      for (final Map<String, Object> kvp : new HitIterator(
-          control.getConnection().getRestHighLevelClient(),
+      try (HitIterator hits = new HitIterator(control.getConnection().getRestHighLevelClient(),
           new SearchRequestFactory(RequestConstructionContextFactory.given(key,
               productIdentifier.getLid().toString(), true), control.getConnection())
                   .build(
                       RequestBuildContextFactory.given(true, "lid",
                           ReferencingLogicTransmuter.Bundle.impl().constraints()),
                       control.getConnection().getRegistryIndex()))) {
-        lids.addAll(bundleLidvids.convert(kvp.get("lid")));
+        for (final Map<String, Object> kvp : hits)
+          lids.addAll(bundleLidvids.convert(kvp.get("lid")));
       }
     }
     sortedLidStrings = new ArrayList<String>(lids);
     Collections.sort(sortedLidStrings); // TODO: Implement comparison for PdsLids (only with other
                                         // PdsLids)
-    List<PdsProductIdentifier> sortedLids =
-        sortedLidStrings.stream().map(PdsLid::fromString).collect(Collectors.toList());
 
     if (selection == ProductVersionSelector.ALL) {
       bundleLidvids.addAll(LidVidUtils.getAllLidVidsByLids(control,
           RequestBuildContextFactory.empty(), sortedLidStrings));
     } else {
-      RequestBuildContext reqContext = RequestBuildContextFactory.empty();
-      for (PdsProductIdentifier lid : sortedLids) {
-        try {
-          PdsLidVid latestLidvid =
-              LidVidUtils.getLatestLidVidByLid(control, reqContext, lid.getLid().toString());
-          bundleLidvids.add(latestLidvid.toString());
-        } catch (LidVidNotFoundException e) {
+      Map<String, PdsLidVid> latestLidvids = LidVidUtils.getLatestLidVidsByLids(control,
+          RequestBuildContextFactory.empty(), sortedLidStrings);
+      for (String lid : sortedLidStrings) {
+        if (latestLidvids.containsKey(lid)) {
+          bundleLidvids.add(latestLidvids.get(lid).toString());
+        } else {
           log.warn(
               "LID is referenced but is in non-findable archive-status or does not exist in db: "
-                  + e.toString());
+                  + lid);
         }
       }
     }
@@ -158,6 +223,24 @@ class RefLogicCollection extends RefLogicAny implements ReferencingLogic {
       MembershipException, UnknownGroupNameException {
     if (twoSteps)
       throw new MembershipException(input.getIdentifier(), "members/members", "collections");
+    if (MemberQuery.applies(input)) {
+      try {
+        QueryBuilder members = MemberQuery.of(context, Arrays.asList(input.getLidVid()));
+        if (members != null)
+          return RequestAndResponseContext.buildRequestAndResponseContext(context, input, members);
+      } catch (OpenSearchException e) {
+        log.warn("Could not look up the members of " + input.getLidVid() + " in opensearch: "
+            + e.getMessage());
+      }
+    }
+    if (MemberQuery.filtered(input)) {
+      List<String> all = RefLogicCollection
+          .children(context, input.getSelector(), new Unlimited(input.getLidVid())).page();
+      QueryBuilder members = MemberQuery.listed(input, all);
+      if (members != null)
+        return RequestAndResponseContext.buildRequestAndResponseContext(context, input, members);
+      return RequestAndResponseContext.buildRequestAndResponseContext(context, input, all);
+    }
     return RequestAndResponseContext.buildRequestAndResponseContext(context, input,
         RefLogicCollection.children(context, input.getSelector(), input));
   }
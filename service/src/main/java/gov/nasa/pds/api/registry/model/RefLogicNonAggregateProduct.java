@@ -9,13 +9,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import gov.nasa.pds.api.registry.RequestBuildContext;
 import gov.nasa.pds.api.registry.model.identifiers.LidVidUtils;
-import gov.nasa.pds.api.registry.model.identifiers.PdsLid;
 import gov.nasa.pds.api.registry.model.identifiers.PdsLidVid;
-import gov.nasa.pds.api.registry.model.identifiers.PdsProductIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,14 +45,13 @@ class RefLogicNonAggregateProduct extends RefLogicAny implements ReferencingLogi
     List<String> parents = RefLogicNonAggregateProduct
         .parents(control, ProductVersionSelector.LATEST, new Unlimited(uid.getLidVid())).page();
     PaginationLidvidBuilder grandparents = new PaginationLidvidBuilder(uid);
-    for (String parent : parents) {
+    ReferenceFanOut.expand(grandparents, parents, parent -> {
       log.info("Find all the parents of collection: " + parent);
-      grandparents
-          .addAll(RefLogicCollection.parents(control, selection, new Unlimited(parent)).page());
-      log.info("Find grandparents size: " + String.valueOf(grandparents.size()));
-      for (String gp : grandparents.page()) {
-        log.info("   grandparent: " + gp);
-      }
+      return RefLogicCollection.parents(control, selection, new Unlimited(parent));
+    });
+    log.info("Find grandparents size: " + String.valueOf(grandparents.size()));
+    for (String gp : grandparents.page()) {
+      log.info("   grandparent: " + gp);
     }
     return grandparents;
   }
@@ -68,33 +63,30 @@ class RefLogicNonAggregateProduct extends RefLogicAny implements ReferencingLogi
     Set<String> lids = new HashSet<String>();
 
     log.info("Find the parents of a product -- both all and latest");
-    for (final Map<String, Object> kvp : new HitIterator(
-        control.getConnection().getRestHighLevelClient(),
+    try (HitIterator hits = new HitIterator(control.getConnection().getRestHighLevelClient(),
         new SearchRequestFactory(
             RequestConstructionContextFactory.given("product_lidvid", uid.getLidVid(), true),
             control.getConnection()).build(RequestBuildContextFactory.given(true, "collection_lid"),
                 control.getConnection().getRegistryRefIndex()))) {
-      lids.addAll(parents.convert(kvp.get("collection_lid")));
+      for (final Map<String, Object> kvp : hits)
+        lids.addAll(parents.convert(kvp.get("collection_lid")));
     }
     sortedLidStrings = new ArrayList<>(lids);
     Collections.sort(sortedLidStrings);
-    List<PdsProductIdentifier> sortedLids =
-        sortedLidStrings.stream().map(PdsLid::fromString).collect(Collectors.toList());
 
     if (selection == ProductVersionSelector.ALL) {
       parents.addAll(LidVidUtils.getAllLidVidsByLids(control, RequestBuildContextFactory.empty(),
           sortedLidStrings));
     } else {
-      RequestBuildContext reqContext = RequestBuildContextFactory.empty();
-      for (PdsProductIdentifier id : sortedLids) {
-        try {
-          PdsLidVid latestLidvid =
-              LidVidUtils.getLatestLidVidByLid(control, reqContext, id.getLid().toString());
-          parents.add(latestLidvid.toString());
-        } catch (LidVidNotFoundException e) {
+      Map<String, PdsLidVid> latestLidvids = LidVidUtils.getLatestLidVidsByLids(control,
+          RequestBuildContextFactory.empty(), sortedLidStrings);
+      for (String lid : sortedLidStrings) {
+        if (latestLidvids.containsKey(lid)) {
+          parents.add(latestLidvids.get(lid).toString());
+        } else {
           log.warn(
               "LID is referenced but is in non-findable archive-status or does not exist in db: "
-                  + e.toString());
+                  + lid);
         }
       }
     }
@@ -0,0 +1,111 @@
+package gov.nasa.pds.api.registry.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
+
+/**
+ * Expand a list of lidvids (the collections of a bundle, the parent collections of a product, ...)
+ * concurrently, at most registry.fanout.parallelism at a time, and merge the expansions in the
+ * order of the lidvids so that paging over the merged result is deterministic.
+ */
+@Component
+public class ReferenceFanOut {
+  private static final Logger log = LoggerFactory.getLogger(ReferenceFanOut.class);
+
+  @Value("${registry.fanout.parallelism:4}")
+  private int propParallelism;
+  private static int parallelism = 4;
+
+  @FunctionalInterface
+  interface Expansion {
+    Pagination<String> expand(String lidvid) throws IOException, LidVidNotFoundException;
+  }
+
+  @PostConstruct
+  public void init() {
+    ReferenceFanOut.parallelism = Math.max(1, this.propParallelism);
+    log.info("Expanding references with a parallelism of " + ReferenceFanOut.parallelism);
+  }
+
+  static void expand(PaginationLidvidBuilder merged, List<String> lidvids, Expansion expansion)
+      throws IOException, LidVidNotFoundException {
+    int workers = Math.min(ReferenceFanOut.parallelism, lidvids.size());
+
+    if (workers <= 1) {
+      for (String lidvid : lidvids)
+        merged.addAll(expansion.expand(lidvid).page());
+      return;
+    }
+
+    AtomicInteger next = new AtomicInteger(0);
+    AtomicReferenceArray<List<String>> expansions =
+        new AtomicReferenceArray<List<String>>(lidvids.size());
+    AtomicBoolean[] started = new AtomicBoolean[workers - 1];
+    CompletableFuture<?>[] running = new CompletableFuture<?>[workers - 1];
+    Runnable work = () -> {
+      for (int i = next.getAndIncrement(); i < lidvids.size(); i = next.getAndIncrement()) {
+        try {
+          expansions.set(i, expansion.expand(lidvids.get(i)).page());
+        } catch (IOException | LidVidNotFoundException e) {
+          next.set(lidvids.size()); // stop the other workers too
+          throw new CompletionException(e);
+        }
+      }
+    };
+
+    for (int worker = 0; worker < running.length; worker++) {
+      AtomicBoolean mine = started[worker] = new AtomicBoolean(false);
+      try {
+        running[worker] = CompletableFuture.runAsync(() -> {
+          if (mine.compareAndSet(false, true))
+            work.run();
+        }, SearchExecutor.executor());
+      } catch (RejectedExecutionException ree) {
+        mine.set(true); // the calling thread does its share
+        running[worker] = CompletableFuture.completedFuture(null);
+      }
+    }
+
+    /*
+     * The calling thread, itself a worker of the pool, expands lidvids too and then withdraws the
+     * helpers that have not started yet, so that it never waits for a thread of a full pool.
+     */
+    running = Arrays.copyOf(running, workers);
+    running[workers - 1] = CompletableFuture.runAsync(work, Runnable::run);
+    for (int worker = 0; worker < started.length; worker++)
+      if (started[worker].compareAndSet(false, true))
+        running[worker].complete(null);
+
+    try {
+      CompletableFuture.allOf(running).join();
+    } catch (CompletionException ce) {
+      if (ce.getCause() instanceof IOException)
+        throw (IOException) ce.getCause();
+      if (ce.getCause() instanceof LidVidNotFoundException)
+        throw (LidVidNotFoundException) ce.getCause();
+      if (ce.getCause() instanceof RuntimeException)
+        throw (RuntimeException) ce.getCause();
+      throw new IOException(ce.getCause());
+    }
+
+    for (int i = 0; i < lidvids.size(); i++)
+      merged.addAll(expansions.get(i));
+  }
+}
@@ -6,14 +6,20 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.apache.lucene.search.TotalHits;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.client.RequestOptions;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.common.collect.Lists;
 import com.ibm.icu.util.StringTokenizer;
+import gov.nasa.pds.api.registry.ConnectionContext;
 import gov.nasa.pds.api.registry.ControlContext;
 import gov.nasa.pds.api.registry.GroupConstraint;
 import gov.nasa.pds.api.registry.RequestBuildContext;
@@ -26,9 +32,13 @@ import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
 import gov.nasa.pds.api.registry.model.identifiers.LidVidUtils;
 import gov.nasa.pds.api.registry.model.identifiers.PdsLidVid;
 import gov.nasa.pds.api.registry.model.identifiers.PdsProductIdentifier;
+import gov.nasa.pds.api.registry.search.Cursor;
+import gov.nasa.pds.api.registry.search.HitCounting;
 import gov.nasa.pds.api.registry.search.HitIterator;
+import gov.nasa.pds.api.registry.search.MultiGetSearch;
 import gov.nasa.pds.api.registry.search.RequestBuildContextFactory;
 import gov.nasa.pds.api.registry.search.RequestConstructionContextFactory;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
 import gov.nasa.pds.api.registry.search.SearchRequestFactory;
 import gov.nasa.pds.model.Summary;
 
@@ -36,6 +46,8 @@ import gov.nasa.pds.model.Summary;
 public class RequestAndResponseContext implements RequestBuildContext, RequestConstructionContext {
   private static final Logger log = LoggerFactory.getLogger(RequestAndResponseContext.class);
 
+  private static final int MEMBER_CHUNK = 10000; // max_result_window, within index.max_terms_count
+
   final private long begin_processing = System.currentTimeMillis();
   final private ControlContext controlContext;
   final private String queryString;
@@ -43,6 +55,10 @@ public class RequestAndResponseContext implements RequestBuildContext, RequestCo
   final private PdsProductIdentifier productIdentifier;
   final private List<String> fields;
   final private List<String> sort;
+  final private String searchAfter;
+  final private HitCounting.Mode trackHits;
+  private String next = null;
+  private HitCounting.Count counted = null;
   final private int start;
   final private int limit;
 
@@ -66,16 +82,102 @@ public class RequestAndResponseContext implements RequestBuildContext, RequestCo
      */
     RequestAndResponseContext response =
         new RequestAndResponseContext(connection, parameters, any, any);
-    SearchRequest request =
-        new SearchRequestFactory(RequestConstructionContextFactory.given(lidvids.page()),
-            connection.getConnection()).build(response,
-                connection.getConnection().getRegistryIndex());
-    request.source().size(lidvids.size());
-    response.setResponse(connection.getConnection().getRestHighLevelClient()
-        .search(request, RequestOptions.DEFAULT).getHits(), null, lidvids.total());
+    SearchHits hits = MemberQuery.filtered(parameters) ? null
+        : MultiGetSearch.fetch(connection.getConnection(), response, lidvids.page());
+
+    if (hits == null && MemberQuery.filtered(parameters)) {
+      SearchRequest request = response.filtered(lidvids.page());
+      request.source().size(lidvids.size());
+      hits = SearchExecutor.search(connection.getConnection().getRestHighLevelClient(), request)
+          .getHits();
+      // only a page that is the whole list can be counted after filtering
+      if (lidvids.size() == lidvids.total())
+        response.setResponse(hits, null, (int) hits.getTotalHits().value);
+      else
+        response.setResponse(hits, null, lidvids.total());
+      return response;
+    }
+    if (hits == null) {
+      SearchRequest request =
+          new SearchRequestFactory(RequestConstructionContextFactory.given(lidvids.page()),
+              connection.getConnection()).build(response,
+                  connection.getConnection().getRegistryIndex());
+      request.source().size(lidvids.size());
+      hits = SearchExecutor.search(connection.getConnection().getRestHighLevelClient(), request)
+          .getHits();
+    }
+    response.setResponse(hits, null, lidvids.total());
     return response;
   }
 
+  /**
+   * Like the lidvids variant but q and keywords are applied to every member before paging and
+   * counting. The members are filtered in chunks small enough for a terms query and for the page
+   * to stay within max_result_window: every chunk is counted, and only the chunks overlapping the
+   * requested page are fetched. Hits are in the order of the members, then of each chunk.
+   */
+  static public RequestAndResponseContext buildRequestAndResponseContext(ControlContext connection,
+      UserContext parameters, List<String> members) throws ApplicationTypeException,
+      LidVidNotFoundException, IOException, UnknownGroupNameException {
+    GroupConstraint any = ReferencingLogicTransmuter.Any.impl().constraints();
+    RequestAndResponseContext response =
+        new RequestAndResponseContext(connection, parameters, any, any);
+    RestHighLevelClient client = connection.getConnection().getRestHighLevelClient();
+    List<List<String>> chunks = Lists.partition(members, MEMBER_CHUNK);
+    List<CompletableFuture<SearchResponse>> counts =
+        new ArrayList<CompletableFuture<SearchResponse>>(chunks.size());
+    List<SearchHit> page = new ArrayList<SearchHit>();
+    long total = 0L;
+
+    for (List<String> chunk : chunks) {
+      SearchRequest count = response.filtered(chunk);
+      count.source().size(0).trackTotalHits(true).fetchSource(false);
+      counts.add(SearchExecutor.async(client, count));
+    }
+    for (int i = 0; i < chunks.size(); i++) {
+      long matching = SearchExecutor.await(counts.get(i)).getHits().getTotalHits().value;
+
+      if (page.size() < response.getLimit() && response.getStart() < total + matching) {
+        SearchRequest request = response.filtered(chunks.get(i));
+        request.source().from((int) Math.max(0L, response.getStart() - total))
+            .size(response.getLimit() - page.size());
+        for (SearchHit hit : SearchExecutor.search(client, request).getHits())
+          page.add(hit);
+      }
+      total += matching;
+    }
+    response.setResponse(new SearchHits(page.toArray(new SearchHit[0]),
+        new TotalHits(total, TotalHits.Relation.EQUAL_TO), Float.NaN), null, (int) total);
+    return response;
+  }
+
+  /**
+   * @return the search for the products among the lidvids that match q and keywords
+   */
+  private SearchRequest filtered(List<String> lidvids) {
+    return new SearchRequestFactory(
+        RequestConstructionContextFactory.query(this.getQueryString(), this.getKeywords()),
+        this.controlContext.getConnection()).filter(MemberQuery.listed(lidvids)).build(this,
+            this.controlContext.getConnection().getRegistryIndex());
+  }
+
+  /**
+   * Like the lidvids variant but the members are a query, so q, keywords, the total and paging are
+   * all handled by opensearch, the same way as for the products of /products.
+   */
+  static public RequestAndResponseContext buildRequestAndResponseContext(ControlContext connection,
+      UserContext parameters, QueryBuilder members) throws ApplicationTypeException,
+      LidVidNotFoundException, IOException, UnknownGroupNameException {
+    GroupConstraint any = ReferencingLogicTransmuter.Any.impl().constraints();
+    RequestAndResponseContext response =
+        new RequestAndResponseContext(connection, parameters, any, any);
+    SearchRequest request = new SearchRequestFactory(
+        RequestConstructionContextFactory.query(response.getQueryString(), response.getKeywords()),
+        connection.getConnection()).filter(members).build(response,
+            connection.getConnection().getRegistryIndex());
+    return SearchExecutor.await(response.setResponse(connection.getConnection(), request));
+  }
+
   static public RequestAndResponseContext buildRequestAndResponseContext(ControlContext connection, // webby
                                                                                                     // criteria
       UserContext parameters, GroupConstraint outPreset // when first and last node of the endpoint
@@ -138,6 +240,8 @@ public class RequestAndResponseContext implements RequestBuildContext, RequestCo
     this.limit = parameters.getLimit();
     this.singletonResultExpected = parameters.getSingletonResultExpected();
     this.sort = parameters.getSort();
+    this.searchAfter = parameters.getSearchAfter();
+    this.trackHits = HitCounting.mode(parameters.getTrackHits());
     this.presetCriteria = outPreset;
     this.selector = parameters.getSelector();
   }
@@ -171,6 +275,10 @@ public class RequestAndResponseContext implements RequestBuildContext, RequestCo
     return this.sort;
   }
 
+  public final String getSearchAfter() {
+    return this.searchAfter;
+  }
+
   public int getStart() {
     return this.start;
   }
@@ -330,7 +438,9 @@ public class RequestAndResponseContext implements RequestBuildContext, RequestCo
       summary.setStart(this.getStart());
       summary.setLimit(this.getLimit());
       summary.setSort(this.getSort());
-      summary.setHits(total_hits);
+      summary.setNext(this.next);
+      summary.setHits(this.counted == null ? total_hits : (int) this.counted.hits);
+      summary.setHitsMode(this.counted == null ? "exact" : this.counted.mode);
 
       if (uniqueProperties != null)
         summary.setProperties(uniqueProperties);
@@ -340,14 +450,43 @@ public class RequestAndResponseContext implements RequestBuildContext, RequestCo
     }
   }
 
-  public void setResponse(RestHighLevelClient client, SearchRequest request) throws IOException {
+  /**
+   * Search opensearch for the response without blocking the calling thread. A response that cannot
+   * be made sense of completes the future exceptionally with a CompletionException wrapping an
+   * IOException.
+   */
+  public CompletableFuture<RequestAndResponseContext> setResponse(ConnectionContext connection,
+      SearchRequest request) {
     if (this.isSingular()) {
-      SearchHits hits;
-
       request.source().size(2);
       request.source().from(0);
-      hits = client.search(request, RequestOptions.DEFAULT).getHits();
+    } else {
+      request.source().size(this.getLimit());
+      request.source().from(this.getStart());
+      Cursor.total(request.source());
+      if (this.getSearchAfter() != null)
+        Cursor.after(request.source(), this.getSearchAfter());
+      HitCounting.track(request.source(), this.trackHits);
+    }
+
+    return SearchExecutor.async(connection.getRestHighLevelClient(), request)
+        .thenApply(response -> {
+          try {
+            if (!this.isSingular()) {
+              this.next = Cursor.next(response.getHits(), this.getLimit());
+              this.counted = HitCounting.settle(connection.getRestHighLevelClient(), request,
+                  response.getHits(), this.trackHits);
+            }
+            this.setResponse(request, response.getHits());
+          } catch (IOException ioe) {
+            throw new CompletionException(ioe);
+          }
+          return this;
+        });
+  }
 
+  private void setResponse(SearchRequest request, SearchHits hits) throws IOException {
+    if (this.isSingular()) {
       if (hits != null && hits.getTotalHits() != null) {
         long hitCount = hits.getTotalHits().value;
         long distinctHitCount = Arrays.stream(hits.getHits()).map(SearchHit::getId).distinct().count();
@@ -374,9 +513,7 @@ public class RequestAndResponseContext implements RequestBuildContext, RequestCo
             "Registry returned unexpected response (could not parse hits count from response)");
       }
     } else {
-      request.source().size(this.getLimit());
-      request.source().from(this.getStart());
-      this.setResponse(client.search(request, RequestOptions.DEFAULT).getHits());
+      this.setResponse(hits);
     }
   }
 }
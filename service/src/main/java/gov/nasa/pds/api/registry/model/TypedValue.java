@@ -0,0 +1,100 @@
+package gov.nasa.pds.api.registry.model;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import gov.nasa.pds.api.registry.exceptions.InvalidParameterException;
+
+/**
+ * Converts the literal of a comparison to the type of the field in the registry index mapping so
+ * that term and range queries are built with numbers, booleans and normalized dates rather than
+ * strings that opensearch has to coerce.
+ *
+ * A literal that cannot be a value of the field fails with InvalidParameterException before
+ * anything is sent to opensearch, and so does a fractional number compared for equality with an
+ * integer field, which no document could match. Fields of other or unknown types keep the literal
+ * unchanged.
+ */
+final class TypedValue {
+  private static final Set<String> INTEGERS = Set.of("long", "integer", "short", "byte");
+  private static final Set<String> DECIMALS =
+      Set.of("double", "float", "half_float", "scaled_float");
+  private static final Set<String> DATES = Set.of("date", "date_nanos");
+  private static final Pattern KEPT_DATE =
+      Pattern.compile("[0-9]+|[0-9]{4}(-[0-9]{2}(-[0-9]{2})?|-[0-9]{3})"
+          + "(T[0-9]{2}(:[0-9]{2}(:[0-9]{2}([.,][0-9]+)?)?)?(Z|[+-][0-9]{2}(:?[0-9]{2})?)?)?");
+
+  private TypedValue() {}
+
+  static Object of(String field, String type, String literal) {
+    if (type == null)
+      return literal;
+
+    try {
+      if (INTEGERS.contains(type)) {
+        try {
+          return Long.valueOf(literal);
+        } catch (NumberFormatException e) {
+          return Double.valueOf(literal);
+        }
+      }
+      if (DECIMALS.contains(type))
+        return Double.valueOf(literal);
+      if ("boolean".equals(type) && ("true".equals(literal) || "false".equals(literal)))
+        return Boolean.valueOf(literal);
+      if (DATES.contains(type))
+        return TypedValue.date(literal);
+    } catch (NumberFormatException | DateTimeParseException e) {
+      // reported below
+    }
+
+    if (INTEGERS.contains(type) || DECIMALS.contains(type) || DATES.contains(type)
+        || "boolean".equals(type))
+      throw new InvalidParameterException(
+          "The value '" + literal + "' cannot be compared to " + field + " of type " + type);
+    return literal;
+  }
+
+  /**
+   * Same as of() for the value of a term or terms query, where an integer field only takes
+   * integers.
+   */
+  static Object term(String field, String type, String literal) {
+    Object value = TypedValue.of(field, type, literal);
+
+    if (value instanceof Double && INTEGERS.contains(type)) {
+      double number = (Double) value;
+
+      if (number != Math.rint(number) || Math.abs(number) >= 0x1p63)
+        throw new InvalidParameterException(
+            "The value '" + literal + "' cannot be equal to " + field + " of type " + type);
+      return (long) number;
+    }
+    return value;
+  }
+
+  /**
+   * @return date times in UTC, and date math, epoch milliseconds and other dates as they are
+   */
+  private static String date(String literal) {
+    if (literal.startsWith("now") || literal.contains("||"))
+      return literal;
+
+    try {
+      return OffsetDateTime.parse(literal).toInstant().toString();
+    } catch (DateTimeParseException e) {
+      // not a date time with an offset
+    }
+    try {
+      return LocalDateTime.parse(literal).atOffset(ZoneOffset.UTC).toInstant().toString();
+    } catch (DateTimeParseException e) {
+      if (KEPT_DATE.matcher(literal).matches())
+        return literal; // dates, ordinal dates, ... are left to the format of the field
+      throw e;
+    }
+  }
+}
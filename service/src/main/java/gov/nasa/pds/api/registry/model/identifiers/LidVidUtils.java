@@ -4,14 +4,27 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import gov.nasa.pds.api.registry.model.ProductVersionSelector;
 import gov.nasa.pds.api.registry.model.ReferencingLogicTransmuter;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
-import org.opensearch.client.RequestOptions;
+import org.opensearch.script.Script;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.TopHits;
+import org.opensearch.search.sort.ScriptSortBuilder.ScriptSortType;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +35,12 @@ import gov.nasa.pds.api.registry.UserContext;
 import gov.nasa.pds.api.registry.exceptions.LidVidMismatchException;
 import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
 import gov.nasa.pds.api.registry.exceptions.UnknownGroupNameException;
+import gov.nasa.pds.api.registry.search.KnownIdentifiers;
+import gov.nasa.pds.api.registry.search.LatestLidvids;
 import gov.nasa.pds.api.registry.search.QuickSearch;
 import gov.nasa.pds.api.registry.search.RequestBuildContextFactory;
 import gov.nasa.pds.api.registry.search.RequestConstructionContextFactory;
+import gov.nasa.pds.api.registry.search.SearchExecutor;
 import gov.nasa.pds.api.registry.search.SearchRequestFactory;
 
 
@@ -36,18 +52,40 @@ import gov.nasa.pds.api.registry.search.SearchRequestFactory;
 public class LidVidUtils {
   private static final Logger log = LoggerFactory.getLogger(LidVidUtils.class);
 
+  /*
+   * The vid of a product as a number ordered like PdsVid, major version first, so that the top_hits
+   * of a LID bucket can be sorted with the latest version first. The vid is a keyword and sorting
+   * it as a string would put 1.10 before 1.9.
+   */
+  private static final Script VERSION_ORDER = new Script(
+      "if (doc['vid'].size() == 0) { return -1L; } String v = doc['vid'].value;"
+          + " int dot = v.indexOf('.'); if (dot < 0) { return Long.parseLong(v) * 1000000L; }"
+          + " return Long.parseLong(v.substring(0, dot)) * 1000000L"
+          + " + Long.parseLong(v.substring(dot + 1));");
+
+  /*
+   * Bounds of the chunked expansion of LIDs to all of their LIDVIDs.
+   */
+  private static final int LIDS_PER_SEARCH = 256;
+  private static final int SEARCHES_PER_REQUEST = 8;
+  private static final int HITS_PER_SEARCH = 2000;
+
   public static PdsLidVid getLatestLidVidByLid(ControlContext ctlContext,
       RequestBuildContext reqContext, String productIdentifier)
       throws IOException, LidVidNotFoundException {
     PdsLid lid = PdsProductIdentifier.fromString(productIdentifier).getLid();
+    String known = LatestLidvids.get(lid.toString(), reqContext.getPresetCriteria());
+
+    if (known != null)
+      return PdsLidVid.fromString(known);
 
     SearchRequest searchRequest = new SearchRequestFactory(
         RequestConstructionContextFactory.given("lid", lid.toString(), true),
         ctlContext.getConnection()).build(
             RequestBuildContextFactory.given(true, "lidvid", reqContext.getPresetCriteria()),
             ctlContext.getConnection().getRegistryIndex());
-    SearchResponse searchResponse = ctlContext.getConnection().getRestHighLevelClient()
-        .search(searchRequest, RequestOptions.DEFAULT);
+    SearchResponse searchResponse =
+        SearchExecutor.search(ctlContext.getConnection().getRestHighLevelClient(), searchRequest);
 
     if (searchResponse != null) {
       List<PdsLidVid> lidVids = new ArrayList<PdsLidVid>();
@@ -62,27 +100,159 @@ public class LidVidUtils {
         throw new LidVidNotFoundException(lid.toString());
       }
 
+      LatestLidvids.put(lid.toString(), reqContext.getPresetCriteria(),
+          lidVids.get(lidVids.size() - 1).toString());
       return lidVids.get(lidVids.size() - 1);
     }
     throw new LidVidNotFoundException(lid.toString());
   }
 
+  /**
+   * Resolve many LIDs to their latest LIDVIDs with a single round trip to opensearch. A terms
+   * aggregation on lid buckets the matching products and a top_hits sub-aggregation sorted by
+   * VERSION_ORDER returns the latest version of each bucket.
+   *
+   * @return map of LID to its latest LIDVID in the order the LIDs were given; LIDs that are not
+   *         findable are absent from the map
+   */
+  public static Map<String, PdsLidVid> getLatestLidVidsByLids(ControlContext ctlContext,
+      RequestBuildContext reqContext, Collection<String> lids) throws IOException {
+    Map<String, PdsLidVid> latest = new LinkedHashMap<String, PdsLidVid>();
+    Map<String, PdsLidVid> found = new LinkedHashMap<String, PdsLidVid>();
+    List<String> unknown = new ArrayList<String>();
+
+    for (String lid : lids) {
+      String known = LatestLidvids.get(lid, reqContext.getPresetCriteria());
+      if (known == null)
+        unknown.add(lid);
+      else
+        found.put(lid, PdsLidVid.fromString(known));
+    }
+
+    if (unknown.isEmpty())
+      return found;
+
+    SearchRequest searchRequest = new SearchRequestFactory(
+        RequestConstructionContextFactory.given("lid", unknown, true),
+        ctlContext.getConnection()).build(
+            RequestBuildContextFactory.given(true, "lidvid", reqContext.getPresetCriteria()),
+            ctlContext.getConnection().getRegistryIndex());
+    searchRequest.source().size(0).trackTotalHits(false)
+        .aggregation(AggregationBuilders.terms("lids").field("lid").size(unknown.size())
+            .subAggregation(AggregationBuilders.topHits("versions").size(1)
+                .sort(SortBuilders.scriptSort(VERSION_ORDER, ScriptSortType.NUMBER)
+                    .order(SortOrder.DESC))
+                .fetchSource("lidvid", null)));
+    SearchResponse searchResponse =
+        SearchExecutor.search(ctlContext.getConnection().getRestHighLevelClient(), searchRequest);
+
+    if (searchResponse != null && searchResponse.getAggregations() != null) {
+      Terms buckets = searchResponse.getAggregations().get("lids");
+      for (Terms.Bucket bucket : buckets.getBuckets()) {
+        PdsLidVid best = null;
+        TopHits versions = bucket.getAggregations().get("versions");
+        for (SearchHit searchHit : versions.getHits()) {
+          PdsLidVid candidate =
+              PdsLidVid.fromString((String) searchHit.getSourceAsMap().get("lidvid"));
+          if (best == null || best.compareTo(candidate) < 0)
+            best = candidate;
+        }
+        if (best != null) {
+          found.put(bucket.getKeyAsString(), best);
+          LatestLidvids.put(bucket.getKeyAsString(), reqContext.getPresetCriteria(),
+              best.toString());
+        }
+      }
+    }
+
+    for (String lid : lids) {
+      if (found.containsKey(lid))
+        latest.put(lid, found.get(lid));
+    }
+    return latest;
+  }
+
   public static List<String> getAllLidVidsByLids(ControlContext ctlContext,
       RequestBuildContext reqContext, Collection<String> lids) throws IOException {
     List<String> lidvids = new ArrayList<String>();
+    LidVidUtils.getAllLidVidsByLids(ctlContext, reqContext, lids, lidvids::addAll);
+    return lidvids;
+  }
+
+  /**
+   * Stream every LIDVID of the LIDs to the consumer, one batch at a time.
+   *
+   * The LIDs are split into chunks of LIDS_PER_SEARCH that are sent SEARCHES_PER_REQUEST at a time
+   * as multi-searches. The next multi-search is already on its way while the hits of the current
+   * one are consumed. A chunk with more versions than HITS_PER_SEARCH continues with search_after
+   * on the lidvid until all of them are read. Batches are given to the consumer in the order of the
+   * chunks.
+   */
+  public static void getAllLidVidsByLids(ControlContext ctlContext,
+      RequestBuildContext reqContext, Collection<String> lids, Consumer<List<String>> consumer)
+      throws IOException {
+    List<String> all = new ArrayList<String>(lids);
+    List<SearchRequest> searches = new ArrayList<SearchRequest>();
 
-    if (0 < lids.size()) {
-      ctlContext.getConnection().getRestHighLevelClient()
-          .search(new SearchRequestFactory(
-              RequestConstructionContextFactory.given("lid", new ArrayList<String>(lids), true),
-              ctlContext.getConnection()).build(reqContext,
-                  ctlContext.getConnection().getRegistryIndex()),
-              RequestOptions.DEFAULT)
-          .getHits().forEach((hit) -> {
-            lidvids.add(hit.getId());
-          });
+    for (int first = 0; first < all.size(); first += LIDS_PER_SEARCH) {
+      List<String> chunk =
+          new ArrayList<String>(all.subList(first, Math.min(all.size(), first + LIDS_PER_SEARCH)));
+      SearchRequest search = new SearchRequestFactory(
+          RequestConstructionContextFactory.given("lid", chunk, true), ctlContext.getConnection())
+              .build(reqContext,
+              ctlContext.getConnection().getRegistryIndex());
+      search.source().size(HITS_PER_SEARCH).fetchSource(false).sort("lidvid");
+      searches.add(search);
     }
-    return lidvids;
+
+    if (searches.isEmpty())
+      return;
+
+    CompletableFuture<MultiSearchResponse> pending =
+        LidVidUtils.multiSearch(ctlContext, searches, 0);
+    for (int first = 0; first < searches.size(); first += SEARCHES_PER_REQUEST) {
+      MultiSearchResponse responses = SearchExecutor.await(pending);
+      int next = first + SEARCHES_PER_REQUEST;
+
+      pending = next < searches.size() ? LidVidUtils.multiSearch(ctlContext, searches, next) : null;
+      for (int i = 0; i < responses.getResponses().length; i++) {
+        MultiSearchResponse.Item item = responses.getResponses()[i];
+
+        if (item.isFailure())
+          throw new IOException("Could not find the versions of LIDs", item.getFailure());
+
+        SearchRequest search = searches.get(first + i);
+        SearchHits hits = item.getResponse().getHits();
+        long read = hits.getHits().length;
+
+        consumer.accept(LidVidUtils.ids(hits));
+        while (0 < hits.getHits().length && read < hits.getTotalHits().value) {
+          search.source().searchAfter(hits.getAt(hits.getHits().length - 1).getSortValues());
+          hits = SearchExecutor.search(ctlContext.getConnection().getRestHighLevelClient(), search)
+              .getHits();
+          read += hits.getHits().length;
+          consumer.accept(LidVidUtils.ids(hits));
+        }
+      }
+    }
+  }
+
+  private static CompletableFuture<MultiSearchResponse> multiSearch(ControlContext ctlContext,
+      List<SearchRequest> searches, int first) {
+    MultiSearchRequest request = new MultiSearchRequest();
+
+    for (SearchRequest search : searches.subList(first,
+        Math.min(searches.size(), first + SEARCHES_PER_REQUEST)))
+      request.add(search);
+    return SearchExecutor.async(ctlContext.getConnection().getRestHighLevelClient(), request);
+  }
+
+  private static List<String> ids(SearchHits hits) {
+    List<String> ids = new ArrayList<String>(hits.getHits().length);
+
+    for (SearchHit hit : hits)
+      ids.add(hit.getId());
+    return ids;
   }
 
   public static PdsProductIdentifier resolve(String productIdentifierString,
@@ -92,6 +262,10 @@ public class LidVidUtils {
         PdsProductIdentifier.fromString(productIdentifierString);
     PdsProductIdentifier result = null;
 
+    if (productIdentifier != null && scope != ProductVersionSelector.ALL && KnownIdentifiers
+        .isMissing(ctlContext.getConnection().getRegistryIndex(), productIdentifier.toString()))
+      throw new LidVidNotFoundException(productIdentifier.toString());
+
     if (productIdentifier != null) {
       /* YUCK! This should use polymorphism in ProductVersionSelector not a switch statement */
       switch (scope) {
@@ -0,0 +1,134 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gov.nasa.pds.api.registry.exceptions.InvalidParameterException;
+
+/**
+ * Sort pushdown and the opaque cursor of public pagination.
+ *
+ * The user sort, sort=asc(field0),desc(field1),..., is always followed by lidvid as a unique
+ * tiebreaker, and so is relevance on pages without sort. The sort values of the last hit of a page
+ * therefore identify a position in the result list, and are handed out as the next cursor, also
+ * on the first unsorted page of a crawl. Given back as search-after, the cursor continues right
+ * after that hit with search_after, which costs the same for every page and is not bounded by
+ * max_result_window like from/size is.
+ *
+ * Sort fields are checked against MappingCatalog once it is loaded, so that a sort on a field that
+ * is not in the registry index or cannot be sorted on is a bad request rather than a failure.
+ */
+public class Cursor {
+  private static final ObjectMapper JSON = new ObjectMapper();
+  private static final String TIEBREAKER = "lidvid";
+  private static final String SCORE = "_score";
+  private static final Set<String> UNSORTABLE = Set.of("text", "object", "nested", "binary");
+
+  /**
+   * Push the user sort down to opensearch, nothing is done when there is no user sort.
+   */
+  static void sort(SearchSourceBuilder source, List<String> sort) {
+    boolean tied = false;
+
+    for (String criterion : sort) {
+      String field = criterion.trim();
+      SortOrder order = SortOrder.ASC;
+      int open = field.indexOf('('), close = field.lastIndexOf(')');
+
+      if (0 < open && open < close) {
+        String direction = field.substring(0, open).trim().toLowerCase(Locale.ROOT);
+
+        if ("desc".equals(direction))
+          order = SortOrder.DESC;
+        else if (!"asc".equals(direction))
+          throw new InvalidParameterException(
+              "Sort '" + criterion + "' is not asc(...) or desc(...)");
+        field = field.substring(open + 1, close).trim();
+      }
+      if (field.isEmpty())
+        throw new InvalidParameterException("Sort '" + criterion + "' does not name a field");
+      Cursor.sortable(MappingCatalog.loaded(), criterion, field);
+
+      source.sort(SortBuilders.fieldSort(field).order(order));
+      tied |= TIEBREAKER.equals(field);
+    }
+
+    if (!sort.isEmpty() && !tied)
+      source.sort(SortBuilders.fieldSort(TIEBREAKER).order(SortOrder.ASC));
+  }
+
+  static void sortable(MappingCatalog.Snapshot catalog, String criterion, String field) {
+    String type;
+
+    if (catalog == null || SCORE.equals(field))
+      return;
+
+    type = catalog.types.get(field);
+    if (type == null)
+      throw new InvalidParameterException(
+          "Sort '" + criterion + "' names a field that is not in the registry");
+    if (UNSORTABLE.contains(type))
+      throw new InvalidParameterException(
+          "Sort '" + criterion + "' names a field of type " + type + " that cannot be sorted on");
+  }
+
+  /**
+   * Make the order of the hits total so that every page has a cursor: relevance then the
+   * tiebreaker when the user did not sort. Sorted pages already end with the tiebreaker.
+   */
+  public static void total(SearchSourceBuilder source) {
+    if (source.sorts() == null || source.sorts().isEmpty()) {
+      source.sort(SortBuilders.scoreSort().order(SortOrder.DESC));
+      source.sort(SortBuilders.fieldSort(TIEBREAKER).order(SortOrder.ASC));
+    }
+  }
+
+  /**
+   * Start the page right after the hit the cursor was made from.
+   */
+  public static void after(SearchSourceBuilder source, String cursor) {
+    Object[] values;
+
+    try {
+      values = JSON.readValue(Base64.getUrlDecoder().decode(cursor), Object[].class);
+    } catch (IllegalArgumentException | IOException e) {
+      throw new InvalidParameterException("search-after '" + cursor + "' is not a cursor", e);
+    }
+
+    if (source.sorts() == null || values.length != source.sorts().size())
+      throw new InvalidParameterException(
+          "search-after '" + cursor + "' was not made with the same sort");
+    source.from(0).searchAfter(values);
+  }
+
+  /**
+   * @return the cursor of the page after hits or null when hits is the last page
+   */
+  public static String next(SearchHits hits, int limit) {
+    SearchHit[] page = hits.getHits();
+
+    if (page.length == 0 || page.length < limit || page[page.length - 1].getSortValues() == null
+        || page[page.length - 1].getSortValues().length == 0)
+      return null;
+
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(JSON
+          .writeValueAsString(page[page.length - 1].getSortValues())
+          .getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      return null;
+    }
+  }
+}
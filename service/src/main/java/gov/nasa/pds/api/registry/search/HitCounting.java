@@ -0,0 +1,146 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.Strings;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import gov.nasa.pds.api.registry.exceptions.InvalidParameterException;
+
+/**
+ * Policy for counting the total hits of user searches.
+ *
+ * exact counts every match, which is what opensearch spends most of its time on for broad queries
+ * over the whole registry index. bounded stops counting at registry.hits.trackUpTo. async searches
+ * like bounded and, when the bound is reached, counts exactly in the background; the count is
+ * cached by the fingerprint of the query (indices and query, not paging or sort) for
+ * registry.hits.cacheSeconds so that the following pages of the same query report it.
+ */
+@Component
+public class HitCounting {
+  private static final Logger log = LoggerFactory.getLogger(HitCounting.class);
+
+  public enum Mode {
+    EXACT, BOUNDED, ASYNC
+  }
+
+  public static class Count {
+    public final long hits;
+    public final String mode; // exact, lower_bound, cached or pending
+
+    Count(long hits, String mode) {
+      this.hits = hits;
+      this.mode = mode;
+    }
+  }
+
+  @Value("${registry.hits.tracking:exact}")
+  private String propTracking;
+
+  @Value("${registry.hits.trackUpTo:10000}")
+  private int propTrackUpTo;
+
+  @Value("${registry.hits.cacheSeconds:300}")
+  private int propCacheSeconds;
+
+  @Value("${registry.hits.cacheSize:10000}")
+  private int propCacheSize;
+
+  private static Mode tracking = Mode.EXACT;
+  private static int trackUpTo = 10000;
+  private static Cache<String, Long> counts =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(300, TimeUnit.SECONDS).build();
+  private static final Set<String> counting = ConcurrentHashMap.newKeySet();
+
+  @PostConstruct
+  public void init() {
+    HitCounting.tracking = HitCounting.mode(this.propTracking, Mode.EXACT);
+    HitCounting.trackUpTo = Math.max(1, this.propTrackUpTo);
+    HitCounting.counts = CacheBuilder.newBuilder().maximumSize(Math.max(1, this.propCacheSize))
+        .expireAfterWrite(Math.max(1, this.propCacheSeconds), TimeUnit.SECONDS).build();
+    log.info("Counting hits " + HitCounting.tracking.toString().toLowerCase(Locale.ROOT)
+        + " (up to " + HitCounting.trackUpTo + " when not exact)");
+  }
+
+  /**
+   * @return the mode asked for by the user or the configured one when the user did not ask
+   */
+  public static Mode mode(String requested) {
+    return HitCounting.mode(requested, HitCounting.tracking);
+  }
+
+  private static Mode mode(String requested, Mode otherwise) {
+    if (requested == null || requested.isBlank())
+      return otherwise;
+
+    try {
+      return Mode.valueOf(requested.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException iae) {
+      throw new InvalidParameterException(
+          "track-hits '" + requested + "' is not one of exact, bounded or async");
+    }
+  }
+
+  public static void track(SearchSourceBuilder source, Mode mode) {
+    if (mode == Mode.EXACT)
+      source.trackTotalHits(true);
+    else
+      source.trackTotalHitsUpTo(HitCounting.trackUpTo);
+  }
+
+  /**
+   * @return the best count of the hits of the search that can be given without waiting
+   */
+  public static Count settle(RestHighLevelClient client, SearchRequest request, SearchHits hits,
+      Mode mode) {
+    TotalHits total = hits.getTotalHits();
+
+    if (total == null)
+      return new Count(-1L, "pending");
+    if (total.relation == TotalHits.Relation.EQUAL_TO)
+      return new Count(total.value, "exact");
+    if (mode != Mode.ASYNC)
+      return new Count(total.value, "lower_bound");
+
+    String fingerprint = HitCounting.fingerprint(request);
+    Long cached = HitCounting.counts.getIfPresent(fingerprint);
+
+    if (cached != null)
+      return new Count(cached, "cached");
+
+    if (HitCounting.counting.add(fingerprint)) {
+      SearchRequest count = new SearchRequest(request.indices()).source(new SearchSourceBuilder()
+          .query(request.source().query()).size(0).trackTotalHits(true));
+
+      SearchExecutor.async(client, count).whenComplete((response, t) -> {
+        HitCounting.counting.remove(fingerprint);
+        if (t != null)
+          log.warn("Could not count the hits of " + fingerprint + ": " + t.getMessage());
+        else
+          HitCounting.counts.put(fingerprint, response.getHits().getTotalHits().value);
+      });
+    }
+    return new Count(total.value, "pending");
+  }
+
+  static String fingerprint(SearchRequest request) {
+    return String.join(",", request.indices()) + " "
+        + (request.source().query() == null ? "" : Strings.toString(request.source().query()));
+  }
+}
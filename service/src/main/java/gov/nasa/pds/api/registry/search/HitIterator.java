@@ -1,68 +1,274 @@
 package gov.nasa.pds.api.registry.search;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.http.util.EntityUtils;
+import org.apache.lucene.search.TotalHits;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.client.RequestOptions;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.Request;
+import org.opensearch.client.Response;
+import org.opensearch.client.ResponseException;
 import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Iterate over every hit of a search request one page at a time.
+ *
+ * The first page is a plain search, which is all it takes when the hits fit in it. Only when there
+ * are more pages, and the cluster supports point-in-time (PIT), is a PIT opened and the traversal
+ * restarted from that snapshot, sorted on the _shard_doc tiebreaker and advanced with search_after,
+ * which keeps each page the same cost no matter how deep the traversal goes and is not bounded by
+ * max_result_window. Clusters without PIT, and cross cluster searches where PIT is not available,
+ * keep from/size paging. Only a 404 or 405 from the PIT endpoint turns PIT off; other failures fall
+ * back for one traversal. Opening and closing a PIT go through the SearchExecutor bulkhead like the
+ * searches, and close() releases the PIT of a traversal the caller stops early.
+ *
+ * The next page is always requested asynchronously as soon as the current one arrives so that
+ * opensearch latency overlaps with processing of the current page. Unless the caller fixes the page
+ * size, it is tuned after every page from the observed response bytes and latency. The last page
+ * is recognized by being short, so that hits do not have to be counted.
+ */
+public class HitIterator
+    implements Iterable<Map<String, Object>>, Iterator<Map<String, Object>>, AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(HitIterator.class);
+  private static final ObjectMapper JSON = new ObjectMapper();
+  private static final TimeValue KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+  private static final String TIEBREAKER = "_shard_doc";
+  private static volatile boolean pitSupported = true;
+
+  private static final int MIN_SIZE = 50;
+  private static final int MAX_SIZE = 5000;
+  private static final long TARGET_BYTES = 8L * 1024L * 1024L;
+  private static final long TARGET_MILLIS = 500L;
 
-public class HitIterator implements Iterable<Map<String, Object>>, Iterator<Map<String, Object>> {
   private int size = 500; // define size to use here to prevent page skipping if opensearch default
                           // size
                           // ever changes
-  private int at = 0, page = 0;
+  private int at = 0;
+  private long requested = 0L;
+  private boolean first = true;
+  private final boolean adaptive;
   private SearchHits currentBatch;
+  private CompletableFuture<Page> pending = null;
   private RestHighLevelClient client;
   private SearchRequest request;
+  private String pitId = null;
+
+  private static class Page {
+    final SearchResponse response;
+    final int size;
+    final long millis;
+
+    Page(SearchResponse response, int size, long millis) {
+      this.response = response;
+      this.size = size;
+      this.millis = millis;
+    }
+  }
 
   public HitIterator(RestHighLevelClient client, SearchRequest request) throws IOException {
-    super();
-    this.client = client;
-    this.request = request;
-    this.currentBatch = this.fetch();
+    this(500, true, client, request);
   }
 
   public HitIterator(int size, RestHighLevelClient client, SearchRequest request)
       throws IOException {
+    this(size, false, client, request);
+  }
+
+  private HitIterator(int size, boolean adaptive, RestHighLevelClient client,
+      SearchRequest request) throws IOException {
     super();
+    this.adaptive = adaptive;
     this.client = client;
     this.request = request;
     this.size = size;
-    this.currentBatch = this.fetch();
+    this.pending = this.prefetch();
+    try {
+      this.currentBatch = this.take();
+    } catch (IOException | RuntimeException e) {
+      this.close();
+      throw e;
+    }
   }
 
-  private SearchHits fetch() throws IOException {
-    this.request.source().from(this.page * this.size);
-    this.request.source().size(this.size);
-    return this.client.search(this.request, RequestOptions.DEFAULT).getHits();
+  private String openPointInTime() {
+    String indices = String.join(",", this.request.indices());
+
+    if (!HitIterator.pitSupported || indices.isEmpty() || indices.contains(":"))
+      return null;
+
+    try {
+      Request open = new Request("POST", "/" + indices + "/_search/point_in_time");
+      open.addParameter("keep_alive", KEEP_ALIVE.getStringRep());
+      Response response = SearchExecutor.perform(this.client, open);
+      JsonNode pit = JSON.readTree(EntityUtils.toString(response.getEntity())).get("pit_id");
+
+      if (pit != null) {
+        this.request.source().sort(TIEBREAKER);
+        return pit.asText();
+      }
+    } catch (ResponseException re) {
+      int status = re.getResponse().getStatusLine().getStatusCode();
+      if (status == 405 || (status == 404 && !re.getMessage().contains("index_not_found"))) {
+        log.info("Point-in-time is not supported by the cluster, using from/size paging");
+        HitIterator.pitSupported = false;
+      } else
+        log.warn("Could not open a point-in-time, using from/size paging: " + re.getMessage());
+    } catch (IOException ioe) {
+      log.warn("Could not open a point-in-time, using from/size paging: " + ioe.getMessage());
+    }
+    return null;
   }
 
-  private SearchHit getAt() throws IOException {
-    if (this.size <= this.at) {
-      this.page++;
-      this.at = 0;
-      this.currentBatch = this.fetch();
+  private void closePointInTime() {
+    if (this.pitId != null) {
+      try {
+        Request close = new Request("DELETE", "/_search/point_in_time");
+        close.setJsonEntity(JSON.createObjectNode().set("pit_id",
+            JSON.createArrayNode().add(this.pitId)).toString());
+        SearchExecutor.perform(this.client, close);
+      } catch (IOException ioe) {
+        log.warn("Could not close point-in-time, leaving it to expire: " + ioe.getMessage());
+      }
+      this.pitId = null;
+    }
+  }
+
+  private CompletableFuture<Page> prefetch() {
+    SearchSourceBuilder source = this.request.source();
+    SearchRequest next = this.request;
+    final long begin = System.currentTimeMillis();
+    final int pageSize = this.size;
+
+    source.size(pageSize);
+    if (this.pitId == null)
+      source.from((int) this.requested);
+    else {
+      source.pointInTimeBuilder(new PointInTimeBuilder(this.pitId).setKeepAlive(KEEP_ALIVE));
+      next = new SearchRequest().source(source);
     }
 
-    return this.currentBatch.getAt(this.at);
+    return SearchExecutor.async(this.client, next)
+        .thenApply(response -> new Page(response, pageSize, System.currentTimeMillis() - begin));
   }
 
-  public String getCurrentId() {
+  private SearchHits take() throws IOException {
+    Page page;
+
+    if (this.pending == null)
+      throw new IOException("There are no more pages of hits to take");
+
     try {
-      return this.getAt().getId();
-    } catch (IOException ioe) {
-      return null;
+      page = SearchExecutor.await(this.pending);
+    } finally {
+      this.pending = null;
+    }
+
+    SearchHits hits = page.response.getHits();
+    int count = hits.getHits().length;
+    boolean more;
+
+    this.requested += count;
+    more = HitIterator.more(page, this.requested);
+    if (this.first) {
+      this.first = false;
+      if (more && (this.pitId = this.openPointInTime()) != null) {
+        this.requested = 0L; // read the pages again, the first one included, from the snapshot
+        this.pending = this.prefetch();
+        return this.take();
+      }
+    }
+    if (this.pitId != null) {
+      if (page.response.pointInTimeId() != null)
+        this.pitId = page.response.pointInTimeId();
+      if (0 < count)
+        this.request.source().searchAfter(hits.getAt(count - 1).getSortValues());
+    }
+
+    if (!more)
+      this.closePointInTime();
+    else {
+      if (this.adaptive)
+        this.size = this.tune(hits, page.millis);
+      this.pending = this.prefetch();
     }
+    return hits;
+  }
+
+  /**
+   * @return true unless the page is the last one: short, or reaching an exact total of hits, which
+   *         is not there when the search does not track it
+   */
+  private static boolean more(Page page, long requested) {
+    SearchHits hits = page.response.getHits();
+    TotalHits total = hits.getTotalHits();
+
+    if (hits.getHits().length == 0 || hits.getHits().length < page.size)
+      return false;
+    return total == null || total.relation != TotalHits.Relation.EQUAL_TO
+        || requested < total.value;
+  }
+
+  private int tune(SearchHits hits, long millis) {
+    long bytes = 0L;
+
+    for (SearchHit hit : hits) {
+      if (hit.getSourceRef() != null)
+        bytes += hit.getSourceRef().length();
+    }
+
+    double scale = Math.min((double) TARGET_BYTES / Math.max(1L, bytes),
+        (double) TARGET_MILLIS / Math.max(1L, millis));
+    scale = Math.max(0.5, Math.min(2.0, scale)); // at most halve or double per page
+    return Math.max(MIN_SIZE, Math.min(MAX_SIZE, (int) (hits.getHits().length * scale)));
   }
 
+  public String getCurrentId() {
+    return this.hasNext() ? this.currentBatch.getAt(this.at).getId() : null;
+  }
+
+  /**
+   * Release the point-in-time early when the caller stops before the last hit.
+   */
+  @Override
+  public void close() {
+    this.pending = null;
+    this.closePointInTime();
+  }
+
+  /**
+   * Wait for the next page when the current one is used up.
+   */
   @Override
   public boolean hasNext() {
-    return this.currentBatch == null ? false
-        : (this.at + this.page * this.size) < this.currentBatch.getTotalHits().value;
+    if (this.currentBatch == null)
+      return false;
+    if (this.at < this.currentBatch.getHits().length)
+      return true;
+    if (this.pending == null)
+      return false;
+
+    try {
+      this.currentBatch = this.take();
+      this.at = 0;
+    } catch (IOException ioe) {
+      throw new UncheckedIOException(ioe);
+    }
+    return this.at < this.currentBatch.getHits().length;
   }
 
   @Override
@@ -72,16 +278,8 @@ public class HitIterator implements Iterable<Map<String, Object>>, Iterator<Map<
 
   @Override
   public Map<String, Object> next() {
-    if (this.hasNext()) {
-      try {
-        SearchHit hit = this.getAt();
-        at++;
-        return hit.getSourceAsMap();
-      } catch (IOException ioe) {
-        return null;
-      }
-    } else {
-      return null;
-    }
+    if (this.hasNext())
+      return this.currentBatch.getAt(this.at++).getSourceAsMap();
+    return null;
   }
 }
@@ -0,0 +1,211 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.slice.SliceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import gov.nasa.pds.api.registry.ConnectionContext;
+
+/**
+ * Bloom filter of every LID and LIDVID in the registry index, so that identifiers that are
+ * definitely not in the registry, mostly bots probing made up LIDs, are answered without searching.
+ *
+ * The filter is rebuilt every registry.identifiers.bloom.rebuildMinutes with a sliced scroll over
+ * the registry index. It is only trusted while the document count and latest harvest time that
+ * SearchCache last checked in the background are the ones read before the scan started. Until
+ * SearchCache has checked the index, or once a harvest changed it, the answer is unknown and the
+ * identifier is searched as usual, while a rebuild is scheduled, so new products do not look
+ * missing. A miss never waits for opensearch.
+ */
+@Component
+public class KnownIdentifiers {
+  private static final Logger log = LoggerFactory.getLogger(KnownIdentifiers.class);
+  private static final TimeValue KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+  private static final int PAGE_SIZE = 5000;
+  private static final double FALSE_POSITIVES = 0.01;
+
+  @Autowired
+  private ConnectionContext connection;
+
+  @Value("${registry.identifiers.bloom.enabled:true}")
+  private boolean propEnabled;
+
+  @Value("${registry.identifiers.bloom.rebuildMinutes:60}")
+  private int propRebuildMinutes;
+
+  @Value("${registry.identifiers.bloom.slices:4}")
+  private int propSlices;
+
+  private static volatile BloomFilter<CharSequence> filter = null;
+  private static volatile String builtStamp = null;
+  private static volatile String registryIndex = null;
+  private static volatile long nextEarlyBuild = 0L;
+  private static final AtomicBoolean building = new AtomicBoolean(false);
+  private static Runnable rebuild = null;
+  private ScheduledExecutorService scheduler = null;
+
+  @PostConstruct
+  public void init() {
+    if (!this.propEnabled)
+      return;
+
+    long minutes = Math.max(1, this.propRebuildMinutes);
+    KnownIdentifiers.registryIndex = this.connection.getRegistryIndex();
+    KnownIdentifiers.rebuild = () -> KnownIdentifiers.build(this.connection, this.propSlices);
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "registry-known-identifiers");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler.scheduleWithFixedDelay(KnownIdentifiers::rebuild, 0, minutes, TimeUnit.MINUTES);
+    log.info("Rebuilding the filter of known identifiers every " + minutes + " minutes");
+  }
+
+  @PreDestroy
+  public void close() {
+    if (this.scheduler != null)
+      this.scheduler.shutdownNow();
+  }
+
+  /**
+   * @return true only when the identifier, a LID or a LIDVID, is certainly not in the registry
+   */
+  public static boolean isMissing(String index, String identifier) {
+    BloomFilter<CharSequence> known = KnownIdentifiers.filter;
+    String stamp = KnownIdentifiers.builtStamp;
+    String checked = SearchCache.stamp(index);
+
+    if (known == null || identifier == null || !index.equals(KnownIdentifiers.registryIndex))
+      return false;
+
+    if (checked == null)
+      return false;
+    if (!stamp.equals(checked)) {
+      KnownIdentifiers.rebuildEarly();
+      return false;
+    }
+    return !known.mightContain(identifier);
+  }
+
+  /**
+   * @return true when the filter is built and needs the change check of SearchCache
+   */
+  static boolean enabled() {
+    return KnownIdentifiers.filter != null;
+  }
+
+  private static void rebuildEarly() {
+    if (System.currentTimeMillis() > KnownIdentifiers.nextEarlyBuild) {
+      try {
+        CompletableFuture.runAsync(KnownIdentifiers::rebuild, SearchExecutor.executor());
+      } catch (RejectedExecutionException ree) {
+        log.debug("Too busy to rebuild the filter of known identifiers early");
+      }
+    }
+  }
+
+  private static void rebuild() {
+    if (KnownIdentifiers.rebuild != null && KnownIdentifiers.building.compareAndSet(false, true)) {
+      try {
+        KnownIdentifiers.rebuild.run();
+      } finally {
+        KnownIdentifiers.nextEarlyBuild = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5);
+        KnownIdentifiers.building.set(false);
+      }
+    }
+  }
+
+  private static void build(ConnectionContext connection, int slices) {
+    RestHighLevelClient client = connection.getRestHighLevelClient();
+    String index = connection.getRegistryIndex();
+    long begin = System.currentTimeMillis();
+
+    try {
+      SearchResponse before = SearchExecutor.await(
+          SearchExecutor.send(client, SearchCache.stampRequest(index)));
+      long documents = before.getHits().getTotalHits().value;
+      BloomFilter<CharSequence> known = BloomFilter.create(
+          Funnels.stringFunnel(StandardCharsets.UTF_8), Math.max(1000L, 3L * documents),
+          FALSE_POSITIVES);
+      CompletableFuture<?>[] scans = new CompletableFuture<?>[Math.max(1, slices)];
+
+      for (int slice = 0; slice < scans.length; slice++) {
+        final int id = slice;
+        scans[slice] = CompletableFuture.runAsync(() -> {
+          try {
+            KnownIdentifiers.scan(client, index, id, scans.length, known);
+          } catch (IOException ioe) {
+            throw new CompletionException(ioe);
+          }
+        }, SearchExecutor.executor());
+      }
+      CompletableFuture.allOf(scans).join();
+
+      KnownIdentifiers.builtStamp = SearchCache.stamp(before);
+      KnownIdentifiers.filter = known;
+      log.info("Filter of the " + documents + " known products built in "
+          + (System.currentTimeMillis() - begin) + " ms");
+    } catch (IOException | RuntimeException e) {
+      log.warn("Could not build the filter of known identifiers: " + e.getMessage());
+    }
+  }
+
+  private static void scan(RestHighLevelClient client, String index, int slice, int slices,
+      BloomFilter<CharSequence> known) throws IOException {
+    SearchSourceBuilder source = new SearchSourceBuilder().size(PAGE_SIZE).fetchSource("lid", null);
+    SearchResponse page;
+
+    if (1 < slices)
+      source.slice(new SliceBuilder(slice, slices));
+    page = SearchExecutor.search(client,
+        new SearchRequest(index).scroll(KEEP_ALIVE).source(source));
+
+    try {
+      while (page.getHits().getHits().length > 0) {
+        for (SearchHit hit : page.getHits()) {
+          known.put(hit.getId());
+          if (hit.getSourceAsMap().get("lid") instanceof String)
+            known.put((String) hit.getSourceAsMap().get("lid"));
+        }
+        page = SearchExecutor.scroll(client,
+            new SearchScrollRequest(page.getScrollId()).scroll(KEEP_ALIVE));
+      }
+    } finally {
+      ClearScrollRequest clear = new ClearScrollRequest();
+      clear.addScrollId(page.getScrollId());
+      try {
+        client.clearScroll(clear, RequestOptions.DEFAULT);
+      } catch (IOException ioe) {
+        log.debug("Could not clear a scroll, leaving it to expire: " + ioe.getMessage());
+      }
+    }
+  }
+}
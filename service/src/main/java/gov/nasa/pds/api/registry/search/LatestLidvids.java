@@ -0,0 +1,103 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import gov.nasa.pds.api.registry.GroupConstraint;
+
+/**
+ * The latest LIDVID of recently resolved LIDs, per preset criteria of the resolution.
+ *
+ * Unlike product_class, the latest version of a LID changes when a new version is harvested. A LID
+ * is therefore forgotten as soon as a search returns its cached LIDVID with
+ * ops:Provenance/ops:superseded_by set, and every LID is forgotten when SearchCache notices that
+ * the registry index changed. Entries also expire after registry.cache.latest.ttlSeconds in case
+ * neither signal is seen.
+ */
+@Component
+public class LatestLidvids {
+  private static final Logger log = LoggerFactory.getLogger(LatestLidvids.class);
+  static final String SUPERSEDED_BY = "ops:Provenance/ops:superseded_by";
+
+  @Value("${registry.cache.latest.size:100000}")
+  private int propSize;
+
+  @Value("${registry.cache.latest.ttlSeconds:3600}")
+  private int propTtlSeconds;
+
+  private static Cache<String, Map<String, String>> latest = null;
+
+  @PostConstruct
+  public void init() {
+    LatestLidvids.configure(this.propSize, this.propTtlSeconds);
+  }
+
+  static void configure(int size, int ttlSeconds) {
+    if (size <= 0 || ttlSeconds <= 0)
+      LatestLidvids.latest = null;
+    else {
+      log.info("Remembering the latest lidvid of up to " + size + " lids for " + ttlSeconds + "s");
+      LatestLidvids.latest = CacheBuilder.newBuilder().maximumSize(size)
+          .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS).build();
+    }
+  }
+
+  static boolean enabled() {
+    return LatestLidvids.latest != null;
+  }
+
+  private static String criteria(GroupConstraint preset) {
+    return preset.must() + "|" + preset.filter() + "|" + preset.mustNot();
+  }
+
+  /**
+   * @return the latest lidvid of the lid or null if it is not known
+   */
+  public static String get(String lid, GroupConstraint preset) {
+    Cache<String, Map<String, String>> cache = LatestLidvids.latest;
+    Map<String, String> known = cache == null ? null : cache.getIfPresent(lid);
+
+    return known == null ? null : known.get(LatestLidvids.criteria(preset));
+  }
+
+  public static void put(String lid, GroupConstraint preset, String lidvid) {
+    Cache<String, Map<String, String>> cache = LatestLidvids.latest;
+
+    if (cache != null)
+      cache.asMap().computeIfAbsent(lid, k -> new ConcurrentHashMap<String, String>())
+          .put(LatestLidvids.criteria(preset), lidvid);
+  }
+
+  /**
+   * Forget the lid of the lidvid if the lidvid is remembered as its latest.
+   */
+  static void superseded(String lidvid) {
+    Cache<String, Map<String, String>> cache = LatestLidvids.latest;
+    int separator = lidvid.indexOf("::");
+    Map<String, String> known =
+        cache == null || separator < 0 ? null : cache.getIfPresent(lidvid.substring(0, separator));
+
+    if (known != null && known.containsValue(lidvid)) {
+      log.debug(lidvid + " is superseded, forgetting it as the latest of its lid");
+      cache.invalidate(lidvid.substring(0, separator));
+    }
+  }
+
+  public static void invalidate() {
+    Cache<String, Map<String, String>> cache = LatestLidvids.latest;
+
+    if (cache != null)
+      cache.invalidateAll();
+  }
+}
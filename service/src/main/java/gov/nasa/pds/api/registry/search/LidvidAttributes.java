@@ -0,0 +1,101 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Attributes of a product that can never change for a given LIDVID, product_class and lid, learned
+ * from the registry documents of every search response and kept for the most recently used
+ * registry.cache.lidvid.size LIDVIDs. The attributes only change when a product is deleted and
+ * harvested again with the same LIDVID, so everything is forgotten when SearchCache notices that
+ * the registry index changed, and entries expire after registry.cache.lidvid.ttlSeconds in case
+ * the change is not noticed.
+ *
+ * QuickSearch answers from it the lookups that do not depend on the version being the latest,
+ * which removes the product_class round trip of the member and class verification endpoints for
+ * hot products.
+ */
+@Component
+public class LidvidAttributes {
+  private static final Logger log = LoggerFactory.getLogger(LidvidAttributes.class);
+  static final List<String> IMMUTABLE = List.of("product_class", "lid");
+
+  @Value("${registry.cache.lidvid.size:100000}")
+  private int propSize;
+
+  @Value("${registry.cache.lidvid.ttlSeconds:3600}")
+  private int propTtlSeconds;
+
+  private static Cache<String, Map<String, String>> attributes =
+      CacheBuilder.newBuilder().maximumSize(100000).expireAfterWrite(1, TimeUnit.HOURS).build();
+
+  @PostConstruct
+  public void init() {
+    int ttlSeconds = this.propTtlSeconds <= 0 ? 3600 : this.propTtlSeconds;
+
+    log.info("Remembering the immutable attributes of up to " + this.propSize + " lidvids for "
+        + ttlSeconds + "s");
+    LidvidAttributes.attributes = CacheBuilder.newBuilder().maximumSize(Math.max(0, this.propSize))
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS).build();
+  }
+
+  public static void invalidate() {
+    LidvidAttributes.attributes.invalidateAll();
+  }
+
+  /**
+   * @return the attribute of the lidvid or null if it is not known or not immutable
+   */
+  static String get(String lidvid, String name) {
+    Map<String, String> known = LidvidAttributes.attributes.getIfPresent(lidvid);
+    return known == null ? null : known.get(name);
+  }
+
+  /**
+   * Remember the immutable attributes of every registry product in the hits. Documents of other
+   * indices have neither product_class nor lid and are skipped.
+   */
+  static void learn(SearchHits hits) {
+    for (SearchHit hit : hits) {
+      Map<String, String> learned = new HashMap<String, String>();
+
+      if (hit.getSourceRef() == null || hit.getId() == null || !hit.getId().contains("::"))
+        continue;
+
+      try {
+        Map<String, Object> source = hit.getSourceAsMap();
+        for (String name : IMMUTABLE)
+          if (source.get(name) instanceof String)
+            learned.put(name, (String) source.get(name));
+        if (source.get(LatestLidvids.SUPERSEDED_BY) != null)
+          LatestLidvids.superseded(hit.getId());
+      } catch (RuntimeException e) {
+        log.debug("Could not read the source of " + hit.getId() + ": " + e.getMessage());
+      }
+
+      if (!learned.isEmpty())
+        LidvidAttributes.attributes.asMap().merge(hit.getId(), learned, (known, more) -> {
+          if (known.entrySet().containsAll(more.entrySet()))
+            return known;
+
+          Map<String, String> merged = new HashMap<String, String>(known);
+          merged.putAll(more);
+          return merged;
+        });
+    }
+  }
+}
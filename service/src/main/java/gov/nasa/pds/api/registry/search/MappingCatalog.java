@@ -0,0 +1,202 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.indices.GetMappingsRequest;
+import org.opensearch.client.indices.GetMappingsResponse;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import gov.nasa.pds.api.registry.ConnectionContext;
+
+/**
+ * The field names and opensearch types of the registry index mapping.
+ *
+ * The mapping has thousands of PDS4 fields, so it is downloaded once and then refreshed in the
+ * background every registry.mapping.refreshSeconds rather than for every use, or only loaded at
+ * startup when refreshSeconds is not positive. The ETag is a digest
+ * of the fields and types, so that it only changes when the catalog does. Besides /properties, it
+ * is meant for anything that needs the type of a field without asking opensearch.
+ */
+@Component
+public class MappingCatalog {
+  private static final Logger log = LoggerFactory.getLogger(MappingCatalog.class);
+
+  @Autowired
+  private ConnectionContext connection;
+
+  @Value("${registry.mapping.refreshSeconds:300}")
+  private int propRefreshSeconds;
+
+  private static volatile Snapshot current = null;
+  private ScheduledExecutorService scheduler = null;
+
+  /**
+   * The types of the fields together with the ETag of exactly those types.
+   */
+  public static final class Snapshot {
+    public final SortedMap<String, String> types;
+    public final String etag;
+
+    Snapshot(SortedMap<String, String> types) {
+      this.types = Collections.unmodifiableSortedMap(types);
+      this.etag = MappingCatalog.digest(types);
+    }
+  }
+
+  @PostConstruct
+  public void init() {
+    if (this.propRefreshSeconds <= 0) {
+      try {
+        MappingCatalog.refresh(this.connection);
+      } catch (IOException | RuntimeException e) {
+        log.warn("Could not load the mapping of the registry index: " + e.getMessage());
+      }
+      return;
+    }
+
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "registry-mapping-catalog");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        MappingCatalog.refresh(this.connection);
+      } catch (IOException | RuntimeException e) {
+        log.warn("Could not refresh the mapping of the registry index: " + e.getMessage());
+      }
+    }, 0, this.propRefreshSeconds, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void close() {
+    if (this.scheduler != null)
+      this.scheduler.shutdownNow();
+  }
+
+  public static Snapshot get(ConnectionContext connection) throws IOException {
+    if (MappingCatalog.current == null)
+      MappingCatalog.refresh(connection);
+    return MappingCatalog.current;
+  }
+
+  /**
+   * @return the catalog as last loaded or null if it has not been loaded yet
+   */
+  static Snapshot loaded() {
+    return MappingCatalog.current;
+  }
+
+  /**
+   * @return the ETag of the catalog as last loaded or null if it has not been loaded yet
+   */
+  public static String etag() {
+    Snapshot catalog = MappingCatalog.current;
+    return catalog == null ? null : catalog.etag;
+  }
+
+  /**
+   * @return the opensearch type of the field or null if it is not in the mapping
+   */
+  public static String type(ConnectionContext connection, String field) throws IOException {
+    return MappingCatalog.get(connection).types.get(field);
+  }
+
+  /**
+   * @return the opensearch type of the field or null if it is not in the mapping or the mapping has
+   *         not been loaded yet, for callers without a connection that can do without the type
+   */
+  public static String type(String field) {
+    Snapshot catalog = MappingCatalog.current;
+    return catalog == null ? null : catalog.types.get(field);
+  }
+
+  /**
+   * @return true when the If-None-Match header, a list of entity tags or *, names the ETag; tags
+   *         are compared weakly as If-None-Match requires
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null)
+      return false;
+
+    for (String tag : ifNoneMatch.split(",")) {
+      String trimmed = tag.trim();
+
+      if (trimmed.equals("*") || MappingCatalog.opaque(trimmed).equals(MappingCatalog.opaque(etag)))
+        return true;
+    }
+    return false;
+  }
+
+  private static String opaque(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+
+  private static synchronized void refresh(ConnectionContext connection) throws IOException {
+    String index = connection.getRegistryIndex();
+    GetMappingsResponse response = connection.getRestHighLevelClient().indices()
+        .getMapping(new GetMappingsRequest().indices(index), RequestOptions.DEFAULT);
+    SortedMap<String, String> latest = new TreeMap<String, String>();
+
+    for (MappingMetadata mapping : response.mappings().values())
+      latest.putAll(MappingCatalog.parse(mapping.getSourceAsMap()));
+
+    if (MappingCatalog.current == null || !latest.equals(MappingCatalog.current.types)) {
+      log.info("The registry index " + index + " has " + latest.size() + " fields");
+      MappingCatalog.current = new Snapshot(latest);
+    }
+  }
+
+  /**
+   * @return the type of every top level property of the mapping source, object when it has none
+   */
+  @SuppressWarnings("unchecked")
+  static SortedMap<String, String> parse(Map<String, Object> mapping) {
+    SortedMap<String, String> parsed = new TreeMap<String, String>();
+    Object properties = mapping.get("properties");
+
+    if (properties instanceof Map)
+      for (Map.Entry<String, Object> property : ((Map<String, Object>) properties).entrySet()) {
+        Object type = property.getValue() instanceof Map
+            ? ((Map<String, Object>) property.getValue()).get("type")
+            : null;
+        parsed.put(property.getKey(), type == null ? "object" : type.toString());
+      }
+    return parsed;
+  }
+
+  static String digest(SortedMap<String, String> types) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      StringBuilder etag = new StringBuilder("\"");
+
+      for (Map.Entry<String, String> entry : types.entrySet())
+        digest.update((entry.getKey() + "=" + entry.getValue() + "\n")
+            .getBytes(StandardCharsets.UTF_8));
+      for (byte b : digest.digest())
+        etag.append(String.format("%02x", b));
+      return etag.append("\"").toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
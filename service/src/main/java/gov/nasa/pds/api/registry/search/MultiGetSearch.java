@@ -0,0 +1,127 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.OpenSearchException;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gov.nasa.pds.api.registry.ConnectionContext;
+import gov.nasa.pds.api.registry.RequestBuildContext;
+import gov.nasa.pds.api.registry.model.ProductQueryBuilderUtil;
+
+/**
+ * Fetch a page of already known LIDVIDs from the registry index by _id with a multi-get instead of
+ * searching for them with a terms filter. The hits come back in the order of the LIDVIDs and the
+ * registry filters (archive status, history stopband and preset criteria) are applied in memory.
+ *
+ * A multi-get needs a single concrete index, so aliases over several indices, wildcards and cross
+ * cluster indices are left to the search, as is any page whose multi-get fails. Fields that are
+ * only fetched to evaluate the filters are removed from the hits before they are returned.
+ */
+public class MultiGetSearch {
+  private static final Logger log = LoggerFactory.getLogger(MultiGetSearch.class);
+
+  /**
+   * @return the hits of the lidvids that pass the registry filters, in the order of lidvids, or
+   *         null when they have to be searched for instead
+   */
+  public static SearchHits fetch(ConnectionContext connection, RequestBuildContext context,
+      List<String> lidvids) throws IOException {
+    String index = connection.getRegistryIndex();
+    List<SearchHit> hits = new ArrayList<SearchHit>(lidvids.size());
+
+    if (index.contains(",") || index.contains(":") || index.contains("*"))
+      return null;
+
+    if (!lidvids.isEmpty()) {
+      MultiGetRequest request = new MultiGetRequest();
+      MultiGetResponse response;
+      Set<String> criteriaOnly = MultiGetSearch.criteriaOnly(context);
+      FetchSourceContext source = new FetchSourceContext(true,
+          MultiGetSearch.includes(context, criteriaOnly),
+          SearchRequestFactory.excludes(context.getFields()));
+
+      for (String lidvid : lidvids)
+        request.add(new MultiGetRequest.Item(index, lidvid).fetchSourceContext(source));
+
+      try {
+        response = SearchExecutor.get(connection.getRestHighLevelClient(), request);
+      } catch (OpenSearchException e) {
+        log.warn("Multi-get failed, searching for these lidvids instead: " + e.getMessage());
+        return null;
+      }
+
+      for (MultiGetItemResponse item : response) {
+        if (item.isFailed()) {
+          log.warn("Multi-get of " + item.getId() + " failed, searching for these lidvids instead: "
+              + item.getFailure().getMessage());
+          return null;
+        }
+
+        GetResponse document = item.getResponse();
+        if (document.isExists()
+            && ProductQueryBuilderUtil.matches(document.getSourceAsMap(), context))
+          hits.add(new SearchHit(hits.size(), document.getId(), null, Collections.emptyMap(),
+              Collections.emptyMap()).sourceRef(MultiGetSearch.strip(document, criteriaOnly)));
+      }
+    }
+
+    return new SearchHits(hits.toArray(new SearchHit[0]),
+        new TotalHits(hits.size(), TotalHits.Relation.EQUAL_TO), 1.0f);
+  }
+
+  /**
+   * The filters are evaluated on the fetched source, so their fields have to be fetched too when
+   * the user restricts the fields.
+   */
+  private static String[] includes(RequestBuildContext context, Set<String> criteriaOnly) {
+    Set<String> includes = new LinkedHashSet<String>(context.getFields());
+
+    includes.addAll(criteriaOnly);
+    return includes.toArray(new String[0]);
+  }
+
+  /**
+   * @return the fields of the filters that the user did not ask for, none when the user did not
+   *         restrict the fields
+   */
+  static Set<String> criteriaOnly(RequestBuildContext context) {
+    Set<String> fields = new LinkedHashSet<String>();
+
+    if (!context.getFields().isEmpty()) {
+      fields.addAll(ProductQueryBuilderUtil.criteriaFields(context));
+      fields.removeAll(context.getFields());
+    }
+    return fields;
+  }
+
+  private static BytesReference strip(GetResponse document, Set<String> criteriaOnly)
+      throws IOException {
+    Map<String, Object> source;
+
+    if (criteriaOnly.isEmpty())
+      return document.getSourceAsBytesRef();
+
+    source = new LinkedHashMap<String, Object>(document.getSourceAsMap());
+    source.keySet().removeAll(criteriaOnly);
+    return BytesReference.bytes(XContentFactory.jsonBuilder().map(source));
+  }
+}
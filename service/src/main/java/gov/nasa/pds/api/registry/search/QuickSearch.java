@@ -2,29 +2,81 @@ package gov.nasa.pds.api.registry.search;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
-import org.opensearch.client.RequestOptions;
 
 import gov.nasa.pds.api.registry.ConnectionContext;
 import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
 
 public class QuickSearch {
-  final private static Object get(ConnectionContext connection, boolean justLatest, String index,
-      String lidvid, String name) throws IOException, LidVidNotFoundException {
-    SearchRequest request =
-        new SearchRequestFactory(RequestConstructionContextFactory.given(lidvid), connection)
-            .build(RequestBuildContextFactory.given(justLatest, name), index);
-    SearchResponse result =
-        connection.getRestHighLevelClient().search(request, RequestOptions.DEFAULT);
+  final private static SearchRequest request(ConnectionContext connection, boolean justLatest,
+      String index, String lidvid, String name) {
+    return new SearchRequestFactory(RequestConstructionContextFactory.given(lidvid), connection)
+        .build(RequestBuildContextFactory.given(justLatest, name), index);
+  }
 
+  final private static Object value(SearchResponse result, String lidvid, String name)
+      throws LidVidNotFoundException {
     if (result.getHits().getTotalHits().value == 0L)
       throw new LidVidNotFoundException(lidvid);
 
     return result.getHits().getAt(0).getSourceAsMap().get(name);
   }
 
+  /**
+   * @return the value when it is immutable and already known, otherwise null
+   */
+  final private static String known(ConnectionContext connection, boolean justLatest,
+      String index, String lidvid, String name) {
+    if (justLatest || !index.equals(connection.getRegistryIndex())
+        || !LidvidAttributes.IMMUTABLE.contains(name))
+      return null;
+    return LidvidAttributes.get(lidvid, name);
+  }
+
+  final private static Object get(ConnectionContext connection, boolean justLatest, String index,
+      String lidvid, String name) throws IOException, LidVidNotFoundException {
+    String known = QuickSearch.known(connection, justLatest, index, lidvid, name);
+
+    if (known != null)
+      return known;
+    if (KnownIdentifiers.isMissing(index, lidvid))
+      throw new LidVidNotFoundException(lidvid);
+
+    SearchResponse result = SearchExecutor.search(connection.getRestHighLevelClient(),
+        QuickSearch.request(connection, justLatest, index, lidvid, name));
+    return QuickSearch.value(result, lidvid, name);
+  }
+
+  /**
+   * Same as getValue() but does not wait for opensearch. A missing lidvid completes the future
+   * exceptionally with a CompletionException wrapping LidVidNotFoundException.
+   */
+  final public static CompletableFuture<String> getValueAsync(ConnectionContext connection,
+      boolean justLatest, String lidvid, String name) {
+    String known =
+        QuickSearch.known(connection, justLatest, connection.getRegistryIndex(), lidvid, name);
+
+    if (known != null)
+      return CompletableFuture.completedFuture(known);
+    if (KnownIdentifiers.isMissing(connection.getRegistryIndex(), lidvid))
+      return CompletableFuture.failedFuture(
+          new CompletionException(new LidVidNotFoundException(lidvid)));
+
+    return SearchExecutor.async(connection.getRestHighLevelClient(),
+        QuickSearch.request(connection, justLatest, connection.getRegistryIndex(), lidvid, name))
+        .thenApply(result -> {
+          try {
+            return (String) QuickSearch.value(result, lidvid, name);
+          } catch (LidVidNotFoundException e) {
+            throw new CompletionException(e);
+          }
+        });
+  }
+
   final public static String getValue(ConnectionContext connection, boolean justLatest,
       String lidvid, String name) throws IOException, LidVidNotFoundException {
     return (String) QuickSearch.get(connection, justLatest, connection.getRegistryIndex(), lidvid,
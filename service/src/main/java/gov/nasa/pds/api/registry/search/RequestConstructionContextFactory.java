@@ -30,4 +30,8 @@ public class RequestConstructionContextFactory {
     kvps.put(key, values);
     return new SimpleRequestConstructionContext(kvps, asTerm);
   }
+
+  public static RequestConstructionContext query(String queryString, List<String> keywords) {
+    return new SimpleRequestConstructionContext(queryString, keywords);
+  }
 }
@@ -0,0 +1,219 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.Strings;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.metrics.Max;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * In-process cache of search responses in front of SearchExecutor.
+ *
+ * Responses are keyed by the indices and a SHA-256 of the whole search source (query, source
+ * filter, from/size, sort, search_after, ...), kept for registry.cache.results.ttlSeconds and
+ * evicted least recently used once their sources weigh more than registry.cache.results.maxBytes.
+ *
+ * Every registry.cache.results.checkSeconds, a lookup of an index also checks in the background its
+ * document count and latest harvest time, as long as responses or LatestLidvids are cached or
+ * KnownIdentifiers needs the stamp. When either changed, everything cached from that index, the
+ * LatestLidvids and the LidvidAttributes are dropped, so harvests show up without waiting for the
+ * entries to expire. invalidate() is the hook for anything else that knows the registry changed.
+ *
+ * Requests are only fingerprinted when their responses are cached or, with
+ * registry.cache.results.coalesce, shared between concurrent identical searches.
+ *
+ * Point-in-time and scroll pages, and responses that timed out or miss shards, are never cached.
+ */
+@Component
+public class SearchCache {
+  private static final Logger log = LoggerFactory.getLogger(SearchCache.class);
+  private static final String HARVEST_TIME = "ops:Harvest_Info/ops:harvest_date_time";
+
+  @Value("${registry.cache.results.maxBytes:67108864}")
+  private long propMaxBytes;
+
+  @Value("${registry.cache.results.ttlSeconds:60}")
+  private int propTtlSeconds;
+
+  @Value("${registry.cache.results.checkSeconds:10}")
+  private int propCheckSeconds;
+
+  @Value("${registry.cache.results.coalesce:true}")
+  private boolean propCoalesce;
+
+  private static Cache<String, SearchResponse> responses = null;
+  private static long checkMillis = 10000L;
+  private static boolean coalesce = true;
+  private static final Map<String, Long> nextCheck = new ConcurrentHashMap<String, Long>();
+  private static final Map<String, String> stamps = new ConcurrentHashMap<String, String>();
+
+  @PostConstruct
+  public void init() {
+    SearchCache.configure(this.propMaxBytes, this.propTtlSeconds, this.propCheckSeconds,
+        this.propCoalesce);
+  }
+
+  static void configure(long maxBytes, int ttlSeconds, int checkSeconds, boolean coalesce) {
+    SearchCache.checkMillis = 1000L * Math.max(1, checkSeconds);
+    SearchCache.coalesce = coalesce;
+    SearchCache.nextCheck.clear();
+    SearchCache.stamps.clear();
+    if (maxBytes <= 0L || ttlSeconds <= 0)
+      SearchCache.responses = null;
+    else {
+      log.info("Caching up to " + maxBytes + " bytes of search responses for " + ttlSeconds + "s");
+      SearchCache.responses = CacheBuilder.newBuilder().maximumWeight(maxBytes)
+          .weigher((String key, SearchResponse response) -> SearchCache.weight(response))
+          .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS).build();
+    }
+  }
+
+  /**
+   * Drop every cached response of the index.
+   */
+  public static void invalidate(String index) {
+    Cache<String, SearchResponse> cache = SearchCache.responses;
+
+    if (cache != null)
+      cache.asMap().keySet().removeIf(key -> key.startsWith(index + "\n"));
+  }
+
+  /**
+   * Drop every cached response.
+   */
+  public static void invalidate() {
+    Cache<String, SearchResponse> cache = SearchCache.responses;
+
+    if (cache != null)
+      cache.invalidateAll();
+  }
+
+  /**
+   * @return the key of the request, or null when the response of the request cannot be shared or
+   *         neither caching nor coalescing would use the key
+   */
+  static String key(SearchRequest request) {
+    SearchSourceBuilder source = request.source();
+
+    if (SearchCache.responses == null && !SearchCache.coalesce)
+      return null;
+    if (source == null || source.pointInTimeBuilder() != null || request.scroll() != null)
+      return null;
+
+    try {
+      StringBuilder hex = new StringBuilder(String.join(",", request.indices())).append('\n');
+      for (byte b : MessageDigest.getInstance("SHA-256")
+          .digest(Strings.toString(source).getBytes(StandardCharsets.UTF_8)))
+        hex.append(String.format("%02x", b));
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      return null;
+    }
+  }
+
+  static SearchResponse get(RestHighLevelClient client, SearchRequest request, String key) {
+    Cache<String, SearchResponse> cache = SearchCache.responses;
+
+    if (key == null)
+      return null;
+
+    SearchCache.check(client, String.join(",", request.indices()));
+    return cache == null ? null : cache.getIfPresent(key);
+  }
+
+  static void put(String key, SearchResponse response) {
+    Cache<String, SearchResponse> cache = SearchCache.responses;
+
+    if (key != null && cache != null && !response.isTimedOut() && response.getFailedShards() == 0)
+      cache.put(key, response);
+  }
+
+  private static int weight(SearchResponse response) {
+    long bytes = 256L;
+
+    for (SearchHit hit : response.getHits()) {
+      bytes += 64L;
+      if (hit.getSourceRef() != null)
+        bytes += hit.getSourceRef().length();
+    }
+    return (int) Math.min(Integer.MAX_VALUE, bytes);
+  }
+
+  /**
+   * @return the search for the document count and latest harvest time of the index
+   */
+  static SearchRequest stampRequest(String index) {
+    return new SearchRequest(index.split(",")).source(new SearchSourceBuilder().size(0)
+        .trackTotalHits(true)
+        .aggregation(AggregationBuilders.max("harvested").field(HARVEST_TIME)));
+  }
+
+  static String stamp(SearchResponse response) {
+    Max harvested =
+        response.getAggregations() == null ? null : response.getAggregations().get("harvested");
+    return response.getHits().getTotalHits().value + "@"
+        + (harvested == null ? "" : harvested.getValue());
+  }
+
+  /**
+   * @return the last stamp seen by the change check of the index or null if it was never checked
+   */
+  static String stamp(String index) {
+    return SearchCache.stamps.get(index);
+  }
+
+  private static void check(RestHighLevelClient client, String index) {
+    long now = System.currentTimeMillis();
+    Long due = SearchCache.nextCheck.get(index);
+
+    if (SearchCache.responses == null && !LatestLidvids.enabled() && !KnownIdentifiers.enabled())
+      return; // nothing to drop or trust
+    if (due != null && now < due)
+      return;
+    if (due == null ? SearchCache.nextCheck.putIfAbsent(index, now + checkMillis) != null
+        : !SearchCache.nextCheck.replace(index, due, now + checkMillis))
+      return; // somebody else is checking
+
+    SearchExecutor.send(client, SearchCache.stampRequest(index)).whenComplete((response, t) -> {
+      if (t != null) {
+        log.warn("Could not check " + index + " for changes, dropping its cached responses: "
+            + t.getMessage());
+        SearchCache.stamps.remove(index);
+        SearchCache.invalidate(index);
+        LatestLidvids.invalidate();
+        LidvidAttributes.invalidate();
+        return;
+      }
+
+      String current = SearchCache.stamp(response);
+      String previous = SearchCache.stamps.put(index, current);
+
+      if (previous != null && !previous.equals(current)) {
+        log.info(index + " changed (" + previous + " -> " + current
+            + "), dropping its cached responses");
+        SearchCache.invalidate(index);
+        LatestLidvids.invalidate();
+        LidvidAttributes.invalidate();
+      }
+    });
+  }
+}
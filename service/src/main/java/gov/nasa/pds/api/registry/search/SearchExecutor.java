@@ -0,0 +1,352 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PostConstruct;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.client.Request;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.Response;
+import org.opensearch.client.RestHighLevelClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import gov.nasa.pds.api.registry.configuration.ThreadConfig;
+
+/**
+ * Execute opensearch searches.
+ *
+ * Every search passes through a bulkhead that bounds how many searches may be outstanding at once
+ * so that a large number of cheap request threads cannot overwhelm opensearch. Asynchronous
+ * searches are sent with RestHighLevelClient.searchAsync and their result is handed to the executor
+ * returned by executor() so that continuations composed on the future never run on the I/O threads
+ * of the opensearch client. Searches are answered from SearchCache when they can be, and
+ * identical searches (same SearchCache key) made while one is outstanding share its response
+ * instead of being sent again.
+ *
+ * The steps of requests that still block on opensearch run on a pool of at most
+ * registry.threads.max threads with a queue of registry.threads.queue tasks. Work beyond that is
+ * rejected, and answered with 503, rather than piling up threads. Responses are completed on a
+ * separate small pool so that blocked steps never wait behind the responses they are waiting for.
+ */
+@Component
+public class SearchExecutor {
+  private static final Logger log = LoggerFactory.getLogger(SearchExecutor.class);
+  private static final AtomicInteger threadCount = new AtomicInteger(0);
+
+  @Value("${openSearch.maxConcurrentRequests:64}")
+  private int propMaxConcurrentRequests;
+
+  @Value("${openSearch.timeOutSeconds:60}")
+  private int propTimeOutSeconds;
+
+  @Value("${registry.threads.virtual:false}")
+  private boolean propVirtualThreads;
+
+  @Value("${registry.threads.max:64}")
+  private int propMaxThreads;
+
+  @Value("${registry.threads.queue:256}")
+  private int propQueue;
+
+  private static ExecutorService executor = SearchExecutor.pool(64, 256);
+  private static final ExecutorService callbacks = Executors.newFixedThreadPool(
+      Math.max(2, Runtime.getRuntime().availableProcessors()),
+      runnable -> SearchExecutor.thread(runnable, "registry-callback-"));
+  private static Semaphore bulkhead = null;
+  private static final Map<String, CompletableFuture<SearchResponse>> inFlight =
+      new ConcurrentHashMap<String, CompletableFuture<SearchResponse>>();
+  private static int bulkheadTimeOutSeconds = 60;
+
+  @PostConstruct
+  public void init() {
+    if (0 < this.propMaxConcurrentRequests) {
+      log.info("Allowing at most " + this.propMaxConcurrentRequests
+          + " concurrent opensearch requests");
+      SearchExecutor.bulkhead = new Semaphore(this.propMaxConcurrentRequests, true);
+    }
+    SearchExecutor.bulkheadTimeOutSeconds = this.propTimeOutSeconds;
+
+    ExecutorService virtual =
+        this.propVirtualThreads ? ThreadConfig.newVirtualThreadPerTaskExecutor() : null;
+    ExecutorService previous = SearchExecutor.executor;
+
+    if (virtual != null)
+      SearchExecutor.executor = virtual;
+    else {
+      log.info("Running blocking request steps on at most " + this.propMaxThreads
+          + " threads with a queue of " + this.propQueue);
+      SearchExecutor.executor = SearchExecutor.pool(this.propMaxThreads, this.propQueue);
+    }
+    previous.shutdown();
+  }
+
+  private static ExecutorService pool(int threads, int queue) {
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+        60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(Math.max(1, queue)),
+        runnable -> SearchExecutor.thread(runnable, "registry-search-"),
+        (runnable, full) -> {
+          throw new RejectedExecutionException("The registry is busy, please try again later");
+        });
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  private static Thread thread(Runnable runnable, String prefix) {
+    Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static Semaphore acquire() throws IOException {
+    Semaphore slots = SearchExecutor.bulkhead;
+
+    if (slots != null) {
+      try {
+        if (!slots.tryAcquire(SearchExecutor.bulkheadTimeOutSeconds, TimeUnit.SECONDS))
+          throw new IOException("Timed out waiting for a free opensearch request slot");
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for a free opensearch request slot", ie);
+      }
+    }
+    return slots;
+  }
+
+  private static void release(Semaphore slots) {
+    if (slots != null)
+      slots.release();
+  }
+
+  public static SearchResponse search(RestHighLevelClient client, SearchRequest request)
+      throws IOException {
+    String key = SearchCache.key(request);
+    SearchResponse response = SearchCache.get(client, request, key);
+
+    if (response != null)
+      return response;
+    if (key == null)
+      return SearchExecutor.direct(client, request, null);
+
+    CompletableFuture<SearchResponse> mine = new CompletableFuture<SearchResponse>();
+    CompletableFuture<SearchResponse> shared = SearchExecutor.inFlight.putIfAbsent(key, mine);
+
+    if (shared != null)
+      return SearchExecutor.join(shared);
+
+    try {
+      response = SearchExecutor.direct(client, request, key);
+      mine.complete(response);
+      return response;
+    } catch (IOException | RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      SearchExecutor.inFlight.remove(key, mine);
+    }
+  }
+
+  private static SearchResponse direct(RestHighLevelClient client, SearchRequest request,
+      String key) throws IOException {
+    Semaphore slots = SearchExecutor.acquire();
+    SearchResponse response;
+
+    try {
+      response = client.search(request, RequestOptions.DEFAULT);
+    } finally {
+      SearchExecutor.release(slots);
+    }
+    LidvidAttributes.learn(response.getHits());
+    SearchCache.put(key, response);
+    return response;
+  }
+
+  /**
+   * Wait for the search of another thread, failing the same way it failed.
+   */
+  private static SearchResponse join(CompletableFuture<SearchResponse> shared)
+      throws IOException {
+    try {
+      return shared.join();
+    } catch (CompletionException ce) {
+      if (ce.getCause() instanceof IOException)
+        throw (IOException) ce.getCause();
+      if (ce.getCause() instanceof RuntimeException)
+        throw (RuntimeException) ce.getCause();
+      throw new IOException(ce.getCause());
+    }
+  }
+
+  public static SearchResponse scroll(RestHighLevelClient client, SearchScrollRequest request)
+      throws IOException {
+    Semaphore slots = SearchExecutor.acquire();
+
+    try {
+      return client.scroll(request, RequestOptions.DEFAULT);
+    } finally {
+      SearchExecutor.release(slots);
+    }
+  }
+
+  /**
+   * Send a request of the low level client, such as opening or closing a point-in-time, through
+   * the bulkhead like the searches.
+   */
+  static Response perform(RestHighLevelClient client, Request request) throws IOException {
+    Semaphore slots = SearchExecutor.acquire();
+
+    try {
+      return client.getLowLevelClient().performRequest(request);
+    } finally {
+      SearchExecutor.release(slots);
+    }
+  }
+
+  public static MultiGetResponse get(RestHighLevelClient client, MultiGetRequest request)
+      throws IOException {
+    Semaphore slots = SearchExecutor.acquire();
+
+    try {
+      return client.mget(request, RequestOptions.DEFAULT);
+    } finally {
+      SearchExecutor.release(slots);
+    }
+  }
+
+  /**
+   * Send the search without waiting for opensearch to answer. The calling thread does wait, up to
+   * openSearch.timeOutSeconds, when the bulkhead is full.
+   */
+  public static CompletableFuture<SearchResponse> async(RestHighLevelClient client,
+      SearchRequest request) {
+    String key = SearchCache.key(request);
+    SearchResponse cached = SearchCache.get(client, request, key);
+
+    if (cached != null)
+      return CompletableFuture.completedFuture(cached);
+    if (key == null)
+      return SearchExecutor.send(client, request);
+
+    CompletableFuture<SearchResponse> mine = new CompletableFuture<SearchResponse>();
+    CompletableFuture<SearchResponse> shared = SearchExecutor.inFlight.putIfAbsent(key, mine);
+
+    if (shared != null)
+      return shared.copy();
+
+    SearchExecutor.send(client, request).whenComplete((response, t) -> {
+      if (t == null) {
+        SearchCache.put(key, response);
+        mine.complete(response);
+      } else
+        mine.completeExceptionally(t);
+      SearchExecutor.inFlight.remove(key, mine);
+    });
+    return mine.copy();
+  }
+
+  /**
+   * Same as async(SearchRequest) but always asks opensearch.
+   */
+  static CompletableFuture<SearchResponse> send(RestHighLevelClient client,
+      SearchRequest request) {
+    return SearchExecutor.<SearchResponse>bounded(
+        listener -> client.searchAsync(request, RequestOptions.DEFAULT, listener))
+        .thenApply(response -> {
+          LidvidAttributes.learn(response.getHits());
+          return response;
+        });
+  }
+
+  /**
+   * Same as async(SearchRequest) for a multi-search, which takes a single slot of the bulkhead.
+   */
+  public static CompletableFuture<MultiSearchResponse> async(RestHighLevelClient client,
+      MultiSearchRequest request) {
+    return SearchExecutor.bounded(
+        listener -> client.msearchAsync(request, RequestOptions.DEFAULT, listener));
+  }
+
+  private static <R> CompletableFuture<R> bounded(Consumer<ActionListener<R>> send) {
+    CompletableFuture<R> future = new CompletableFuture<R>();
+    Semaphore slots;
+
+    try {
+      slots = SearchExecutor.acquire();
+    } catch (IOException ioe) {
+      future.completeExceptionally(ioe);
+      return future;
+    }
+
+    try {
+      send.accept(new ActionListener<R>() {
+        @Override
+        public void onResponse(R response) {
+          SearchExecutor.release(slots);
+          SearchExecutor.callbacks.execute(() -> future.complete(response));
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+          SearchExecutor.release(slots);
+          SearchExecutor.callbacks.execute(() -> future.completeExceptionally(e));
+        }
+      });
+    } catch (RuntimeException re) {
+      SearchExecutor.release(slots);
+      future.completeExceptionally(re);
+    }
+    return future;
+  }
+
+  /**
+   * Wait for an asynchronous search, rethrowing its failure as the synchronous call would have: as
+   * is when unchecked, as an IOException otherwise.
+   */
+  public static <R> R await(CompletableFuture<R> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for opensearch", ie);
+    } catch (ExecutionException ee) {
+      if (ee.getCause() instanceof RuntimeException)
+        throw (RuntimeException) ee.getCause();
+      throw ee.getCause() instanceof IOException ? (IOException) ee.getCause()
+          : new IOException(ee.getCause());
+    }
+  }
+
+  /**
+   * The executor to run continuations and blocking steps of a request on. It uses virtual threads
+   * when registry.threads.virtual is set and the java runtime supports them, and the bounded pool
+   * otherwise, which throws RejectedExecutionException when it is full.
+   */
+  public static Executor executor() {
+    return SearchExecutor.executor;
+  }
+}
@@ -7,6 +7,7 @@ import gov.nasa.pds.api.registry.model.identifiers.PdsLidVid;
 import gov.nasa.pds.api.registry.model.identifiers.PdsProductIdentifier;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.slf4j.Logger;
@@ -46,8 +47,14 @@ public class SearchRequestFactory {
       }
     }
 
-    if (context.getKeywords().isEmpty() && !context.getQueryString().isBlank())
-      this.base.must(ProductQueryBuilderUtil.parseQueryString(context.getQueryString()));
+    if (context.getKeywords().isEmpty() && !context.getQueryString().isBlank()) {
+      BoolQueryBuilder q = ProductQueryBuilderUtil.parseQueryString(context.getQueryString());
+
+      if (q.must().isEmpty() && q.should().isEmpty())
+        this.base.filter(q); // nothing to score so let opensearch cache it
+      else
+        this.base.must(q);
+    }
 
     if (!context.getKeywords().isEmpty()) {
       context.getKeywords().forEach((keyword) -> {
@@ -71,7 +78,15 @@ public class SearchRequestFactory {
     }
   }
 
-  static private String[] excludes(List<String> fields) {
+  /**
+   * Restrict the hits to documents matching the query without scoring them.
+   */
+  public SearchRequestFactory filter(QueryBuilder query) {
+    this.base.filter(query);
+    return this;
+  }
+
+  static String[] excludes(List<String> fields) {
     String[] exclude, ex0 = new String[0], exbp = {BlobUtil.XML_BLOB_PROPERTY},
         exjbp = {BlobUtil.JSON_BLOB_PROPERTY},
         exall = {BlobUtil.XML_BLOB_PROPERTY, BlobUtil.JSON_BLOB_PROPERTY};
@@ -89,6 +104,8 @@ public class SearchRequestFactory {
   }
 
   public SearchRequest build(RequestBuildContext context, String index) {
+    SearchSourceBuilder source = new SearchSourceBuilder();
+
     if (this.regContext.getRegistryIndex().equals(index)) {
       log.debug("************          Just the latest lidvids: "
           + Boolean.toString(context.justLatest()));
@@ -101,11 +118,12 @@ public class SearchRequestFactory {
 
       ProductQueryBuilderUtil.addArchiveStatusFilter(this.base);
       ProductQueryBuilderUtil.addPresetCriteria(this.base, context.getPresetCriteria());
+      Cursor.sort(source, context.getSort());
     }
 
     return new SearchRequest()
         .indices(index)
-        .source(new SearchSourceBuilder()
+        .source(source
             .query(this.base)
             .fetchSource(context.getFields().toArray(new String[0]),
                          SearchRequestFactory.excludes(context.getFields()))
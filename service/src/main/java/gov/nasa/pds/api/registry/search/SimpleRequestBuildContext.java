@@ -44,4 +44,9 @@ class SimpleRequestBuildContext implements RequestBuildContext {
   public GroupConstraint getPresetCriteria() {
     return this.preset;
   }
+
+  @Override
+  public List<String> getSort() {
+    return new ArrayList<String>();
+  }
 }
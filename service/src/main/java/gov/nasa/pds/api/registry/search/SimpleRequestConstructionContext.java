@@ -12,34 +12,52 @@ class SimpleRequestConstructionContext implements RequestConstructionContext {
   final private boolean isTerm;
   final private Map<String, List<String>> kvps;
   final private PdsProductIdentifier productIdentifier;
+  final private String queryString;
+  final private List<String> keywords;
 
   SimpleRequestConstructionContext(Map<String, List<String>> kvps) {
     this.isTerm = false;
     this.kvps = kvps;
     this.productIdentifier = null;
+    this.queryString = "";
+    this.keywords = new ArrayList<String>();
   }
 
   SimpleRequestConstructionContext(Map<String, List<String>> kvps, boolean asTerm) {
     this.isTerm = asTerm;
     this.kvps = kvps;
     this.productIdentifier = null;
+    this.queryString = "";
+    this.keywords = new ArrayList<String>();
   }
 
   SimpleRequestConstructionContext(String productIdentifier) {
     this.isTerm = false;
     this.kvps = new HashMap<String, List<String>>();
     this.productIdentifier = PdsProductIdentifier.fromString(productIdentifier);
+    this.queryString = "";
+    this.keywords = new ArrayList<String>();
   }
 
   SimpleRequestConstructionContext(String productIdentifier, boolean isTerm) {
     this.isTerm = isTerm;
     this.kvps = new HashMap<String, List<String>>();
     this.productIdentifier = PdsProductIdentifier.fromString(productIdentifier);
+    this.queryString = "";
+    this.keywords = new ArrayList<String>();
+  }
+
+  SimpleRequestConstructionContext(String queryString, List<String> keywords) {
+    this.isTerm = false;
+    this.kvps = new HashMap<String, List<String>>();
+    this.productIdentifier = null;
+    this.queryString = queryString == null ? "" : queryString;
+    this.keywords = keywords == null ? new ArrayList<String>() : keywords;
   }
 
   @Override
   public List<String> getKeywords() {
-    return new ArrayList<String>();
+    return this.keywords;
   }
 
   @Override
@@ -59,7 +77,7 @@ class SimpleRequestConstructionContext implements RequestConstructionContext {
 
   @Override
   public String getQueryString() {
-    return "";
+    return this.queryString;
   }
 
   @Override
@@ -0,0 +1,41 @@
+package gov.nasa.pds.api.registry.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opensearch.index.query.PrefixQueryBuilder;
+import org.opensearch.index.query.SimpleQueryStringBuilder;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.index.query.WildcardQueryBuilder;
+
+public class Antlr4SearchListenerLikeTest {
+
+  @Test
+  public void testKeywordPatterns() {
+    Assertions.assertEquals(new PrefixQueryBuilder("lid", "urn:nasa:pds:insight"),
+        Antlr4SearchListener.like("lid", "urn:nasa:pds:insight*", "keyword", false));
+    Assertions.assertEquals(new TermQueryBuilder("lid", "urn:nasa:pds:insight"),
+        Antlr4SearchListener.like("lid", "urn:nasa:pds:insight", "keyword", false));
+    Assertions.assertTrue(Antlr4SearchListener.like("lid", "*pdart14_meap",
+        "keyword", false) instanceof SimpleQueryStringBuilder);
+    Assertions.assertTrue(Antlr4SearchListener.like("lid", "insight | mars*",
+        "keyword", false) instanceof SimpleQueryStringBuilder);
+  }
+
+  @Test
+  public void testQuestionMarksAreLiteral() {
+    Assertions.assertEquals(new TermQueryBuilder("lid", "urn:nasa:pds:a?b"),
+        Antlr4SearchListener.like("lid", "urn:nasa:pds:a?b", "keyword", false));
+    Assertions.assertEquals(new PrefixQueryBuilder("lid", "urn:nasa:pds:a?"),
+        Antlr4SearchListener.like("lid", "urn:nasa:pds:a?*", "keyword", false));
+    Assertions.assertEquals(new WildcardQueryBuilder("lid", "*pdart1\\?_meap"),
+        Antlr4SearchListener.like("lid", "*pdart1?_meap", "keyword", true));
+  }
+
+  @Test
+  public void testOtherFieldsKeepSimpleQueryString() {
+    Assertions.assertTrue(Antlr4SearchListener.like("title", "mars*", "text",
+        false) instanceof SimpleQueryStringBuilder);
+    Assertions.assertTrue(Antlr4SearchListener.like("lid", "mars*", null,
+        false) instanceof SimpleQueryStringBuilder);
+  }
+}
@@ -0,0 +1,105 @@
+package gov.nasa.pds.api.registry.model;
+
+import gov.nasa.pds.api.registry.UserContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opensearch.index.query.TermsQueryBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MemberQueryTest {
+
+  private final List<String> members = Arrays.asList("urn:nasa:pds:a:b:c::1.0",
+      "urn:nasa:pds:a:b:c::2.0", "urn:nasa:pds:a:b:d::1.0");
+
+  private static class AllVersions extends LidvidsContextStub implements UserContext {
+    private final String q;
+
+    AllVersions(String q, int start, int limit) {
+      super(start, limit);
+      this.q = q;
+    }
+
+    @Override
+    public String getAccept() {
+      return "application/json";
+    }
+
+    @Override
+    public List<String> getFields() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public String getGroup() {
+      return "";
+    }
+
+    @Override
+    public String getIdentifier() {
+      return "urn:nasa:pds:a:b::1.0";
+    }
+
+    @Override
+    public List<String> getKeywords() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public String getQuery() {
+      return this.q;
+    }
+
+    @Override
+    public ProductVersionSelector getSelector() {
+      return ProductVersionSelector.ALL;
+    }
+
+    @Override
+    public String getSearchAfter() {
+      return null;
+    }
+
+    @Override
+    public List<String> getSort() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public String getTrackHits() {
+      return null;
+    }
+
+    @Override
+    public String getVersion() {
+      return "all";
+    }
+  }
+
+  private static UserContext all(String q, int start, int limit) {
+    return new AllVersions(q, start, limit);
+  }
+
+  @Test
+  public void testAllVersionsWithQueryAreListed() {
+    UserContext input = all("title like \"*orbit*\"", 0, 10);
+
+    Assertions.assertFalse(MemberQuery.applies(input), "all versions are not pushed down");
+    Assertions.assertTrue(MemberQuery.filtered(input));
+    TermsQueryBuilder listed = (TermsQueryBuilder) MemberQuery.listed(input, this.members);
+    Assertions.assertEquals("lidvid", listed.fieldName());
+    Assertions.assertEquals(3, listed.values().size());
+  }
+
+  @Test
+  public void testQueryIsNeverIgnored() {
+    UserContext deep = all("title like \"*orbit*\"", 9995, 10);
+
+    Assertions.assertNull(MemberQuery.listed(deep, this.members), "deep pages are chunked");
+    Assertions.assertTrue(MemberQuery.filtered(deep));
+    TermsQueryBuilder chunk = (TermsQueryBuilder) MemberQuery.listed(this.members.subList(0, 2));
+    Assertions.assertEquals(2, chunk.values().size());
+  }
+}
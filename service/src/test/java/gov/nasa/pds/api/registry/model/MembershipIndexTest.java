@@ -0,0 +1,87 @@
+package gov.nasa.pds.api.registry.model;
+
+import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class MembershipIndexTest {
+
+  private static List<String> members(int count) {
+    List<String> members = new ArrayList<String>();
+    for (int i = 0; i < count; i++)
+      members.add(String.format("urn:nasa:pds:bundle:collection:product_%05d::1.0", i));
+    Collections.reverse(members);
+    return members;
+  }
+
+  @Test
+  public void testPagesAcrossBlocks(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("collection.idx");
+    List<String> refs = members(300);
+
+    MembershipIndex.write(file, members(300), 300);
+    ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(file));
+
+    Assertions.assertEquals(refs.subList(0, 10), MembershipIndex.read(index.duplicate(), 0, 10));
+    Assertions.assertEquals(refs.subList(60, 70),
+        MembershipIndex.read(index.duplicate(), 60, 10));
+    Assertions.assertEquals(refs.subList(250, 300),
+        MembershipIndex.read(index.duplicate(), 250, 100));
+    Assertions.assertTrue(MembershipIndex.read(index.duplicate(), 300, 10).isEmpty());
+  }
+
+  @Test
+  public void testOnlyLargeCollectionsAreIndexed(@TempDir Path dir)
+      throws IOException, LidVidNotFoundException {
+    List<String> refs = members(150);
+
+    MembershipIndex.configure(dir, 100, 1);
+    Assertions.assertNull(MembershipIndex.page(new Unlimited("small::1.0"), lidvid -> 99,
+        lidvid -> members(99)));
+
+    Pagination<String> page =
+        MembershipIndex.page(new Bounded("large::1.0", 5, 3), lidvid -> 150, lidvid -> members(150));
+    Assertions.assertEquals(refs.subList(5, 8), page.page());
+    Assertions.assertEquals(150, page.total());
+
+    // mapping another collection evicts the first one, which is mapped again from its file
+    MembershipIndex.page(new Bounded("other::1.0", 0, 3), lidvid -> 120, lidvid -> members(120));
+    page = MembershipIndex.page(new Bounded("large::1.0", 149, 3), lidvid -> 150, lidvid -> {
+      throw new IOException("the index must not be rebuilt");
+    });
+    Assertions.assertEquals(refs.subList(149, 150), page.page());
+  }
+
+  @Test
+  public void testChangedAndSupersededIndicesAreRebuiltOrDeleted(@TempDir Path dir)
+      throws IOException, LidVidNotFoundException {
+    MembershipIndex.configure(dir, 100, 1);
+    MembershipIndex.page(new Bounded("urn:nasa:pds:b:c::1.0", 0, 3), lidvid -> 150,
+        lidvid -> members(150));
+
+    // mapped again after harvesting more members into the same collection
+    MembershipIndex.configure(dir, 100, 1);
+    Pagination<String> page = MembershipIndex.page(new Bounded("urn:nasa:pds:b:c::1.0", 0, 3),
+        lidvid -> 160, lidvid -> members(160));
+    Assertions.assertEquals(160, page.total());
+
+    MembershipIndex.page(new Bounded("urn:nasa:pds:b:c::2.0", 0, 3), lidvid -> 120,
+        lidvid -> members(120));
+    try (Stream<Path> files = Files.list(dir)) {
+      Assertions.assertEquals(Arrays.asList("urn%3Anasa%3Apds%3Ab%3Ac%3A%3A2.0.idx"),
+          files.map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package gov.nasa.pds.api.registry.model;
+
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+
+public class ProductQueryBuilderUtilTest {
+
+  @Test
+  public void testNormalizeKeepsQuotedWhiteSpace() {
+    Assertions.assertEquals("( title like \"mars  rover\" and lid eq \"x\" )",
+        ProductQueryBuilderUtil.normalize("  (\ttitle like \"mars  rover\"\n and lid eq \"x\" ) "));
+  }
+
+  @Test
+  public void testCachedQueriesAreNotShared() {
+    String q = "(title like \"mars\" or not (product_class ne \"Product_Collection\"))";
+    BoolQueryBuilder first = ProductQueryBuilderUtil.parseQueryString(q);
+    BoolQueryBuilder again = ProductQueryBuilderUtil.parseQueryString(" " + q + " ");
+
+    Assertions.assertEquals(first, again);
+    Assertions.assertNotSame(first, again);
+
+    // callers add their own criteria, which must not leak into the cached plan
+    again.must(QueryBuilders.termQuery("lid", "urn:nasa:pds:a"));
+    Assertions.assertEquals(first, ProductQueryBuilderUtil.parseQueryString(q));
+  }
+
+  @Test
+  public void testInvalidQueriesStillFail() {
+    Assertions.assertThrows(ParseCancellationException.class,
+        () -> ProductQueryBuilderUtil.parseQueryString("(lid eq"));
+  }
+}
@@ -0,0 +1,45 @@
+package gov.nasa.pds.api.registry.model;
+
+import gov.nasa.pds.api.registry.exceptions.LidVidNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class ReferenceFanOutTest {
+
+  private final List<String> parents = Arrays.asList("a", "b", "c", "d", "e", "f");
+
+  private static Pagination<String> slowly(String lidvid) {
+    try {
+      // finish in reverse order so a merge by completion would be visibly wrong
+      Thread.sleep(10L * ("f".charAt(0) - lidvid.charAt(0)));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    PaginationLidvidBuilder children = new PaginationLidvidBuilder(new Unlimited(lidvid));
+    children.addAll(Arrays.asList(lidvid + "1", lidvid + "2"));
+    return children;
+  }
+
+  @Test
+  public void testMergeKeepsInputOrder() throws IOException, LidVidNotFoundException {
+    PaginationLidvidBuilder merged = new PaginationLidvidBuilder(new LidvidsContextStub(3, 4));
+    ReferenceFanOut.expand(merged, parents, ReferenceFanOutTest::slowly);
+    Assertions.assertArrayEquals(new String[] {"b2", "c1", "c2", "d1"}, merged.page().toArray());
+    Assertions.assertEquals(12, merged.total());
+  }
+
+  @Test
+  public void testFailureIsRethrown() {
+    PaginationLidvidBuilder merged = new PaginationLidvidBuilder(new LidvidsContextStub(0, 10));
+    Assertions.assertThrows(LidVidNotFoundException.class,
+        () -> ReferenceFanOut.expand(merged, parents, lidvid -> {
+          if (lidvid.equals("c"))
+            throw new LidVidNotFoundException(lidvid);
+          return slowly(lidvid);
+        }));
+  }
+}
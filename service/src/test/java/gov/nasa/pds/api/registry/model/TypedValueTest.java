@@ -0,0 +1,61 @@
+package gov.nasa.pds.api.registry.model;
+
+import gov.nasa.pds.api.registry.exceptions.InvalidParameterException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TypedValueTest {
+
+  @Test
+  public void testNumbersAndBooleans() {
+    Assertions.assertEquals(8942L, TypedValue.of("_file_size", "long", "8942"));
+    Assertions.assertEquals(1.5, TypedValue.of("_file_size", "long", "1.5"));
+    Assertions.assertEquals(-2.0, TypedValue.of("ratio", "double", "-2"));
+    Assertions.assertEquals(Boolean.TRUE, TypedValue.of("flag", "boolean", "true"));
+    Assertions.assertEquals("12", TypedValue.of("title", "text", "12"));
+    Assertions.assertEquals("12", TypedValue.of("unknown", null, "12"));
+  }
+
+  @Test
+  public void testDates() {
+    Assertions.assertEquals("2020-09-11T12:00:00Z",
+        TypedValue.of("start_date_time", "date", "2020-09-11T14:00:00+02:00"));
+    Assertions.assertEquals("2020-09-11T12:00:00Z",
+        TypedValue.of("start_date_time", "date", "2020-09-11T12:00"));
+    Assertions.assertEquals("2020-09-11", TypedValue.of("start_date_time", "date", "2020-09-11"));
+    Assertions.assertEquals("now-1d/d", TypedValue.of("start_date_time", "date", "now-1d/d"));
+  }
+
+  @Test
+  public void testInvalidComparisons() {
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> TypedValue.of("_file_size", "long", "Raw"));
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> TypedValue.of("start_date_time", "date", "yesterday"));
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> TypedValue.of("flag", "boolean", "yes"));
+  }
+
+  @Test
+  public void testIntegerTermsOnlyTakeIntegers() {
+    Assertions.assertEquals(8942L, TypedValue.term("_file_size", "long", "8942"));
+    Assertions.assertEquals(8942L, TypedValue.term("_file_size", "long", "8942.0"));
+    Assertions.assertEquals(1.5, TypedValue.term("ratio", "double", "1.5"));
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> TypedValue.term("_file_size", "long", "1.5"));
+  }
+
+  @Test
+  public void testOnlyDateShapesAreKept() {
+    Assertions.assertEquals("2020-255", TypedValue.of("start_date_time", "date", "2020-255"));
+    Assertions.assertEquals("2020-09", TypedValue.of("start_date_time", "date", "2020-09"));
+    Assertions.assertEquals("1599825600000",
+        TypedValue.of("start_date_time", "date", "1599825600000"));
+    Assertions.assertEquals("2020-255T12:00:00Z",
+        TypedValue.of("start_date_time", "date", "2020-255T12:00:00Z"));
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> TypedValue.of("start_date_time", "date", "2020-1xyz"));
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> TypedValue.of("start_date_time", "date", "2020-09-11 junk"));
+  }
+}
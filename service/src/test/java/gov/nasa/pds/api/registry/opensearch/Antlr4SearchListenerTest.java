@@ -1,5 +1,7 @@
 package gov.nasa.pds.api.registry.opensearch;
 
+import java.util.List;
+
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CodePointCharStream;
@@ -8,9 +10,11 @@ import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.ExistsQueryBuilder;
 import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.index.query.SimpleQueryStringBuilder;
 import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -87,12 +91,21 @@ public class Antlr4SearchListenerTest {
     String qs = "lid eq \"*pdart14_meap?\"";
     BoolQueryBuilder query = this.run(qs);
 
-    Assertions.assertEquals(query.must().size(), 1);
+    Assertions.assertEquals(query.filter().size(), 1);
     Assertions.assertEquals(query.mustNot().size(), 0);
-    Assertions.assertEquals(query.should().size(), 0);
-    Assertions.assertTrue(query.must().get(0) instanceof TermQueryBuilder);
-    Assertions.assertEquals(((TermQueryBuilder) query.must().get(0)).fieldName(), "lid");
-    Assertions.assertEquals(((TermQueryBuilder) query.must().get(0)).value(), "*pdart14_meap?");
+    Assertions.assertEquals(query.must().size(), 0);
+    Assertions.assertTrue(query.filter().get(0) instanceof TermQueryBuilder);
+    Assertions.assertEquals(((TermQueryBuilder) query.filter().get(0)).fieldName(), "lid");
+    Assertions.assertEquals(((TermQueryBuilder) query.filter().get(0)).value(), "*pdart14_meap?");
+  }
+
+  @Test
+  public void testKeywordsAreStillFieldNames() {
+    BoolQueryBuilder query = this.run("( in eq \"x\" and exists exists )");
+
+    Assertions.assertEquals(query.filter().size(), 2);
+    Assertions.assertEquals(((TermQueryBuilder) query.filter().get(0)).fieldName(), "in");
+    Assertions.assertEquals(((ExistsQueryBuilder) query.filter().get(1)).fieldName(), "exists");
   }
 
   @Test
@@ -100,21 +113,21 @@ public class Antlr4SearchListenerTest {
     String qs = "( timestamp gt 12 and timestamp lt 27 )";
     BoolQueryBuilder query = this.run(qs);
 
-    Assertions.assertEquals(query.must().size(), 2);
+    Assertions.assertEquals(query.filter().size(), 2);
     Assertions.assertEquals(query.mustNot().size(), 0);
-    Assertions.assertEquals(query.should().size(), 0);
-    Assertions.assertTrue(query.must().get(0) instanceof RangeQueryBuilder);
-    Assertions.assertTrue(query.must().get(1) instanceof RangeQueryBuilder);
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(0)).fieldName(), "timestamp");
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(0)).from(), "12");
-    Assertions.assertNull(((RangeQueryBuilder) query.must().get(0)).to());
-    Assertions.assertFalse(((RangeQueryBuilder) query.must().get(0)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(0)).includeUpper());
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(1)).fieldName(), "timestamp");
-    Assertions.assertNull(((RangeQueryBuilder) query.must().get(1)).from());
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(1)).to(), "27");
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(1)).includeLower());
-    Assertions.assertFalse(((RangeQueryBuilder) query.must().get(1)).includeUpper());
+    Assertions.assertEquals(query.must().size(), 0);
+    Assertions.assertTrue(query.filter().get(0) instanceof RangeQueryBuilder);
+    Assertions.assertTrue(query.filter().get(1) instanceof RangeQueryBuilder);
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(0)).fieldName(), "timestamp");
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(0)).from(), "12");
+    Assertions.assertNull(((RangeQueryBuilder) query.filter().get(0)).to());
+    Assertions.assertFalse(((RangeQueryBuilder) query.filter().get(0)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(0)).includeUpper());
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(1)).fieldName(), "timestamp");
+    Assertions.assertNull(((RangeQueryBuilder) query.filter().get(1)).from());
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(1)).to(), "27");
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(1)).includeLower());
+    Assertions.assertFalse(((RangeQueryBuilder) query.filter().get(1)).includeUpper());
   }
 
   @Test
@@ -122,21 +135,21 @@ public class Antlr4SearchListenerTest {
     String qs = "( timestamp_A ge 12 and timestamp_B le 27 )";
     BoolQueryBuilder query = this.run(qs);
 
-    Assertions.assertEquals(query.must().size(), 2);
+    Assertions.assertEquals(query.filter().size(), 2);
     Assertions.assertEquals(query.mustNot().size(), 0);
-    Assertions.assertEquals(query.should().size(), 0);
-    Assertions.assertTrue(query.must().get(0) instanceof RangeQueryBuilder);
-    Assertions.assertTrue(query.must().get(1) instanceof RangeQueryBuilder);
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(0)).fieldName(), "timestamp_A");
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(0)).from(), "12");
-    Assertions.assertNull(((RangeQueryBuilder) query.must().get(0)).to());
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(0)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(0)).includeUpper());
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(1)).fieldName(), "timestamp_B");
-    Assertions.assertNull(((RangeQueryBuilder) query.must().get(1)).from());
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(1)).to(), "27");
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(1)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(1)).includeUpper());
+    Assertions.assertEquals(query.must().size(), 0);
+    Assertions.assertTrue(query.filter().get(0) instanceof RangeQueryBuilder);
+    Assertions.assertTrue(query.filter().get(1) instanceof RangeQueryBuilder);
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(0)).fieldName(), "timestamp_A");
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(0)).from(), "12");
+    Assertions.assertNull(((RangeQueryBuilder) query.filter().get(0)).to());
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(0)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(0)).includeUpper());
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(1)).fieldName(), "timestamp_B");
+    Assertions.assertNull(((RangeQueryBuilder) query.filter().get(1)).from());
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(1)).to(), "27");
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(1)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(1)).includeUpper());
   }
 
   @Test
@@ -149,21 +162,21 @@ public class Antlr4SearchListenerTest {
     Assertions.assertEquals(query.should().size(), 0);
     Assertions.assertTrue(query.mustNot().get(0) instanceof BoolQueryBuilder);
     query = (BoolQueryBuilder) query.mustNot().get(0);
-    Assertions.assertEquals(query.must().size(), 2);
+    Assertions.assertEquals(query.filter().size(), 2);
     Assertions.assertEquals(query.mustNot().size(), 0);
-    Assertions.assertEquals(query.should().size(), 0);
-    Assertions.assertTrue(query.must().get(0) instanceof RangeQueryBuilder);
-    Assertions.assertTrue(query.must().get(1) instanceof RangeQueryBuilder);
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(0)).fieldName(), "timestamp");
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(0)).from(), "12");
-    Assertions.assertNull(((RangeQueryBuilder) query.must().get(0)).to());
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(0)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(0)).includeUpper());
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(1)).fieldName(), "timestamp");
-    Assertions.assertNull(((RangeQueryBuilder) query.must().get(1)).from());
-    Assertions.assertEquals(((RangeQueryBuilder) query.must().get(1)).to(), "27");
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(1)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) query.must().get(1)).includeUpper());
+    Assertions.assertEquals(query.must().size(), 0);
+    Assertions.assertTrue(query.filter().get(0) instanceof RangeQueryBuilder);
+    Assertions.assertTrue(query.filter().get(1) instanceof RangeQueryBuilder);
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(0)).fieldName(), "timestamp");
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(0)).from(), "12");
+    Assertions.assertNull(((RangeQueryBuilder) query.filter().get(0)).to());
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(0)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(0)).includeUpper());
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(1)).fieldName(), "timestamp");
+    Assertions.assertNull(((RangeQueryBuilder) query.filter().get(1)).from());
+    Assertions.assertEquals(((RangeQueryBuilder) query.filter().get(1)).to(), "27");
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(1)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) query.filter().get(1)).includeUpper());
   }
 
   @Test
@@ -174,40 +187,91 @@ public class Antlr4SearchListenerTest {
 
     Assertions.assertEquals(query.must().size(), 0);
     Assertions.assertEquals(query.mustNot().size(), 0);
-    Assertions.assertEquals(query.filter().size(), 2);
+    Assertions.assertEquals(query.filter().size(), 1);
     Assertions.assertTrue(query.filter().get(0) instanceof BoolQueryBuilder);
-    nest = (BoolQueryBuilder) query.filter().get(0);
-    Assertions.assertEquals(nest.must().size(), 2);
+    query = (BoolQueryBuilder) query.filter().get(0);
+    Assertions.assertEquals(query.should().size(), 2);
+    Assertions.assertEquals(query.minimumShouldMatch(), "1");
+    Assertions.assertTrue(query.should().get(0) instanceof BoolQueryBuilder);
+    nest = (BoolQueryBuilder) query.should().get(0);
+    Assertions.assertEquals(nest.filter().size(), 2);
     Assertions.assertEquals(nest.mustNot().size(), 0);
-    Assertions.assertEquals(nest.filter().size(), 0);
-    Assertions.assertTrue(nest.must().get(0) instanceof RangeQueryBuilder);
-    Assertions.assertTrue(nest.must().get(1) instanceof RangeQueryBuilder);
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(0)).fieldName(), "timestamp");
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(0)).from(), "12");
-    Assertions.assertNull(((RangeQueryBuilder) nest.must().get(0)).to());
-    Assertions.assertTrue(((RangeQueryBuilder) nest.must().get(0)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) nest.must().get(0)).includeUpper());
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(1)).fieldName(), "timestamp");
-    Assertions.assertNull(((RangeQueryBuilder) nest.must().get(1)).from());
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(1)).to(), "27");
-    Assertions.assertTrue(((RangeQueryBuilder) nest.must().get(1)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) nest.must().get(1)).includeUpper());
-    nest = (BoolQueryBuilder) query.filter().get(1);
-    Assertions.assertEquals(nest.must().size(), 2);
+    Assertions.assertEquals(nest.must().size(), 0);
+    Assertions.assertTrue(nest.filter().get(0) instanceof RangeQueryBuilder);
+    Assertions.assertTrue(nest.filter().get(1) instanceof RangeQueryBuilder);
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(0)).fieldName(), "timestamp");
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(0)).from(), "12");
+    Assertions.assertNull(((RangeQueryBuilder) nest.filter().get(0)).to());
+    Assertions.assertTrue(((RangeQueryBuilder) nest.filter().get(0)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) nest.filter().get(0)).includeUpper());
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(1)).fieldName(), "timestamp");
+    Assertions.assertNull(((RangeQueryBuilder) nest.filter().get(1)).from());
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(1)).to(), "27");
+    Assertions.assertTrue(((RangeQueryBuilder) nest.filter().get(1)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) nest.filter().get(1)).includeUpper());
+    nest = (BoolQueryBuilder) query.should().get(1);
+    Assertions.assertEquals(nest.filter().size(), 2);
     Assertions.assertEquals(nest.mustNot().size(), 0);
-    Assertions.assertEquals(nest.filter().size(), 0);
-    Assertions.assertTrue(nest.must().get(0) instanceof RangeQueryBuilder);
-    Assertions.assertTrue(nest.must().get(1) instanceof RangeQueryBuilder);
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(0)).fieldName(), "timestamp");
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(0)).from(), "13");
-    Assertions.assertNull(((RangeQueryBuilder) nest.must().get(0)).to());
-    Assertions.assertFalse(((RangeQueryBuilder) nest.must().get(0)).includeLower());
-    Assertions.assertTrue(((RangeQueryBuilder) nest.must().get(0)).includeUpper());
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(1)).fieldName(), "timestamp");
-    Assertions.assertNull(((RangeQueryBuilder) nest.must().get(1)).from());
-    Assertions.assertEquals(((RangeQueryBuilder) nest.must().get(1)).to(), "37");
-    Assertions.assertTrue(((RangeQueryBuilder) nest.must().get(1)).includeLower());
-    Assertions.assertFalse(((RangeQueryBuilder) nest.must().get(1)).includeUpper());
+    Assertions.assertEquals(nest.must().size(), 0);
+    Assertions.assertTrue(nest.filter().get(0) instanceof RangeQueryBuilder);
+    Assertions.assertTrue(nest.filter().get(1) instanceof RangeQueryBuilder);
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(0)).fieldName(), "timestamp");
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(0)).from(), "13");
+    Assertions.assertNull(((RangeQueryBuilder) nest.filter().get(0)).to());
+    Assertions.assertFalse(((RangeQueryBuilder) nest.filter().get(0)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) nest.filter().get(0)).includeUpper());
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(1)).fieldName(), "timestamp");
+    Assertions.assertNull(((RangeQueryBuilder) nest.filter().get(1)).from());
+    Assertions.assertEquals(((RangeQueryBuilder) nest.filter().get(1)).to(), "37");
+    Assertions.assertTrue(((RangeQueryBuilder) nest.filter().get(1)).includeLower());
+    Assertions.assertFalse(((RangeQueryBuilder) nest.filter().get(1)).includeUpper());
+  }
+
+  @Test
+  public void testOrOfInequalities() {
+    String qs = "( lid ne \"a\" or lid eq \"b\" )";
+    BoolQueryBuilder query = this.run(qs);
+
+    Assertions.assertEquals(query.must().size(), 0);
+    Assertions.assertEquals(query.filter().size(), 1);
+    query = (BoolQueryBuilder) query.filter().get(0);
+    Assertions.assertEquals(query.should().size(), 2);
+    Assertions.assertEquals(query.minimumShouldMatch(), "1");
+    Assertions.assertTrue(query.should().get(0) instanceof BoolQueryBuilder);
+    Assertions.assertTrue(
+        ((BoolQueryBuilder) query.should().get(0)).mustNot().get(0) instanceof TermQueryBuilder);
+    Assertions.assertTrue(query.should().get(1) instanceof TermQueryBuilder);
+  }
+
+  @Test
+  public void testFlattenedScoringOr() {
+    String qs = "( title like \"mars\" or ( title like \"moon\" or lid eq \"c\" ) )";
+    BoolQueryBuilder query = this.run(qs);
+
+    Assertions.assertEquals(query.should().size(), 3);
+    Assertions.assertEquals(query.minimumShouldMatch(), "1");
+    Assertions.assertTrue(query.should().get(0) instanceof SimpleQueryStringBuilder);
+    Assertions.assertTrue(query.should().get(1) instanceof SimpleQueryStringBuilder);
+    Assertions.assertTrue(query.should().get(2) instanceof TermQueryBuilder);
+  }
+
+  @Test
+  public void testSetExistenceAndBetween() {
+    String qs = "( target in (\"a\", \"b\") and title exists and version_id not between 1 and 2 )";
+    BoolQueryBuilder query = this.run(qs);
+
+    Assertions.assertEquals(query.filter().size(), 2);
+    Assertions.assertEquals(query.mustNot().size(), 1);
+    Assertions.assertTrue(query.filter().get(0) instanceof TermsQueryBuilder);
+    Assertions.assertEquals(((TermsQueryBuilder) query.filter().get(0)).values(),
+        List.of("a", "b"));
+    Assertions.assertTrue(query.filter().get(1) instanceof ExistsQueryBuilder);
+    Assertions.assertEquals(((ExistsQueryBuilder) query.filter().get(1)).fieldName(), "title");
+    Assertions.assertTrue(query.mustNot().get(0) instanceof RangeQueryBuilder);
+    Assertions.assertEquals(((RangeQueryBuilder) query.mustNot().get(0)).from(), "1");
+    Assertions.assertEquals(((RangeQueryBuilder) query.mustNot().get(0)).to(), "2");
+    Assertions.assertTrue(((RangeQueryBuilder) query.mustNot().get(0)).includeLower());
+    Assertions.assertTrue(((RangeQueryBuilder) query.mustNot().get(0)).includeUpper());
   }
 
   @Test
@@ -215,12 +279,13 @@ public class Antlr4SearchListenerTest {
     String qs = "ref_lid_target eq \"urn:nasa:pds:context:target:planet.mercury\"";
     BoolQueryBuilder query = this.run(qs);
 
-    Assertions.assertEquals(query.must().size(), 1);
+    Assertions.assertEquals(query.filter().size(), 1);
     Assertions.assertEquals(query.mustNot().size(), 0);
-    Assertions.assertEquals(query.should().size(), 0);
-    Assertions.assertTrue(query.must().get(0) instanceof TermQueryBuilder);
-    Assertions.assertEquals(((TermQueryBuilder) query.must().get(0)).fieldName(), "ref_lid_target");
-    Assertions.assertEquals(((TermQueryBuilder) query.must().get(0)).value(),
+    Assertions.assertEquals(query.must().size(), 0);
+    Assertions.assertTrue(query.filter().get(0) instanceof TermQueryBuilder);
+    Assertions.assertEquals(((TermQueryBuilder) query.filter().get(0)).fieldName(),
+        "ref_lid_target");
+    Assertions.assertEquals(((TermQueryBuilder) query.filter().get(0)).value(),
         "urn:nasa:pds:context:target:planet.mercury");
   }
 
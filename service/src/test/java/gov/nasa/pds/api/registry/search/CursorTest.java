@@ -0,0 +1,90 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.FieldSortBuilder;
+import org.opensearch.search.sort.SortOrder;
+
+import gov.nasa.pds.api.registry.exceptions.InvalidParameterException;
+
+public class CursorTest {
+
+  private static SearchHits page(int count) {
+    SearchHit[] hits = new SearchHit[count];
+
+    for (int i = 0; i < count; i++) {
+      hits[i] = new SearchHit(i, "urn:nasa:pds:a::" + i, null, Collections.emptyMap(),
+          Collections.emptyMap());
+      hits[i].sortValues(new Object[] {1.5f, "urn:nasa:pds:a::" + i},
+          new DocValueFormat[] {DocValueFormat.RAW, DocValueFormat.RAW});
+    }
+    return new SearchHits(hits, new TotalHits(100, TotalHits.Relation.EQUAL_TO), 1.0f);
+  }
+
+  @Test
+  public void testSortAddsTiebreaker() {
+    SearchSourceBuilder source = new SearchSourceBuilder();
+    Cursor.sort(source, Arrays.asList("desc(ops:Harvest_Info/ops:harvest_date_time)", "title"));
+    Assertions.assertEquals(3, source.sorts().size());
+    Assertions.assertEquals(SortOrder.DESC, source.sorts().get(0).order());
+    Assertions.assertEquals("title", ((FieldSortBuilder) source.sorts().get(1)).getFieldName());
+    Assertions.assertEquals("lidvid", ((FieldSortBuilder) source.sorts().get(2)).getFieldName());
+  }
+
+  @Test
+  public void testNextResumesAfterLastHit() {
+    SearchSourceBuilder source = new SearchSourceBuilder().from(40);
+    String next = Cursor.next(page(10), 10);
+
+    Cursor.total(source);
+    Cursor.after(source, next);
+    Assertions.assertEquals(0, source.from());
+    Assertions.assertEquals("urn:nasa:pds:a::9", source.searchAfter()[1]);
+    Assertions.assertNull(Cursor.next(page(7), 10), "a short page is the last page");
+  }
+
+  @Test
+  public void testUnsortedPagesGetATotalOrder() {
+    SearchSourceBuilder source = new SearchSourceBuilder();
+
+    Cursor.total(source);
+    Assertions.assertEquals(2, source.sorts().size());
+    Assertions.assertEquals("lidvid", ((FieldSortBuilder) source.sorts().get(1)).getFieldName());
+    Assertions.assertNotNull(Cursor.next(page(10), 10), "the first page has a cursor");
+  }
+
+  @Test
+  public void testForeignCursorIsRejected() {
+    SearchSourceBuilder source = new SearchSourceBuilder();
+    Cursor.sort(source, Arrays.asList("asc(lidvid)"));
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> Cursor.after(source, Cursor.next(page(10), 10)));
+    Assertions.assertThrows(InvalidParameterException.class, () -> Cursor.after(source, "%%"));
+  }
+
+  @Test
+  public void testSortFieldsAreChecked() {
+    SortedMap<String, String> types = new TreeMap<String, String>();
+    types.put("title", "text");
+    types.put("lidvid", "keyword");
+    MappingCatalog.Snapshot catalog = new MappingCatalog.Snapshot(types);
+
+    Cursor.sortable(catalog, "asc(lidvid)", "lidvid");
+    Cursor.sortable(catalog, "desc(_score)", "_score");
+    Cursor.sortable(null, "asc(anything)", "anything");
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> Cursor.sortable(catalog, "asc(title)", "title"));
+    Assertions.assertThrows(InvalidParameterException.class,
+        () -> Cursor.sortable(catalog, "asc(unknown)", "unknown"));
+  }
+}
@@ -0,0 +1,41 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+
+import gov.nasa.pds.api.registry.GroupConstraint;
+import gov.nasa.pds.api.registry.util.GroupConstraintImpl;
+
+public class LatestLidvidsTest {
+  private final GroupConstraint any = GroupConstraintImpl.empty();
+
+  private static SearchHits superseded(String lidvid) {
+    SearchHit hit = new SearchHit(0, lidvid, null, Collections.emptyMap(), Collections.emptyMap())
+        .sourceRef(new BytesArray(("{\"ops:Provenance/ops:superseded_by\":\"" + lidvid + "0\"}")
+            .getBytes(StandardCharsets.UTF_8)));
+    return new SearchHits(new SearchHit[] {hit}, new TotalHits(1, TotalHits.Relation.EQUAL_TO),
+        1.0f);
+  }
+
+  @Test
+  public void testSupersededLatestIsForgotten() {
+    LatestLidvids.configure(100, 60);
+    LatestLidvids.put("urn:nasa:pds:b:c", any, "urn:nasa:pds:b:c::2.0");
+    LatestLidvids.put("urn:nasa:pds:b:d", any, "urn:nasa:pds:b:d::1.0");
+
+    LidvidAttributes.learn(superseded("urn:nasa:pds:b:c::1.0"));
+    Assertions.assertEquals("urn:nasa:pds:b:c::2.0", LatestLidvids.get("urn:nasa:pds:b:c", any),
+        "an older version being superseded changes nothing");
+
+    LidvidAttributes.learn(superseded("urn:nasa:pds:b:c::2.0"));
+    Assertions.assertNull(LatestLidvids.get("urn:nasa:pds:b:c", any));
+    Assertions.assertEquals("urn:nasa:pds:b:d::1.0", LatestLidvids.get("urn:nasa:pds:b:d", any));
+  }
+}
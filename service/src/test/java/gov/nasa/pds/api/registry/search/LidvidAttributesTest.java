@@ -0,0 +1,47 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+
+public class LidvidAttributesTest {
+
+  private static SearchHit hit(String id, String source) {
+    return new SearchHit(0, id, null, Collections.emptyMap(), Collections.emptyMap())
+        .sourceRef(new BytesArray(source.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testLearnsImmutableAttributesOfProducts() {
+    LidvidAttributes.learn(new SearchHits(new SearchHit[] {
+        hit("urn:nasa:pds:b:c::1.0",
+            "{\"product_class\":\"Product_Collection\",\"lid\":\"urn:nasa:pds:b:c\"}"),
+        hit("urn:nasa:pds:b:c::1.0::P1", "{\"collection_lid\":\"urn:nasa:pds:b:c\"}"),
+        hit("urn:nasa:pds:b:d::2.0", "{\"title\":\"no class\"}")},
+        new TotalHits(3, TotalHits.Relation.EQUAL_TO), 1.0f));
+
+    Assertions.assertEquals("Product_Collection",
+        LidvidAttributes.get("urn:nasa:pds:b:c::1.0", "product_class"));
+    Assertions.assertEquals("urn:nasa:pds:b:c",
+        LidvidAttributes.get("urn:nasa:pds:b:c::1.0", "lid"));
+    Assertions.assertNull(LidvidAttributes.get("urn:nasa:pds:b:c::1.0::P1", "lid"));
+    Assertions.assertNull(LidvidAttributes.get("urn:nasa:pds:b:d::2.0", "product_class"));
+  }
+
+  @Test
+  public void testForgetsEverythingWhenTheRegistryChanges() {
+    LidvidAttributes.learn(new SearchHits(new SearchHit[] {hit("urn:nasa:pds:b:e::1.0",
+        "{\"product_class\":\"Product_Bundle\",\"lid\":\"urn:nasa:pds:b:e\"}")},
+        new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f));
+
+    Assertions.assertNotNull(LidvidAttributes.get("urn:nasa:pds:b:e::1.0", "product_class"));
+    LidvidAttributes.invalidate();
+    Assertions.assertNull(LidvidAttributes.get("urn:nasa:pds:b:e::1.0", "product_class"));
+  }
+}
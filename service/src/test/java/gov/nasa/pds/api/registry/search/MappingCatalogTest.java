@@ -0,0 +1,44 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MappingCatalogTest {
+
+  @Test
+  public void testParsesTopLevelTypes() {
+    SortedMap<String, String> types = MappingCatalog.parse(Map.of("properties",
+        Map.of("lid", Map.of("type", "keyword"), "pds:Time_Coordinates/pds:start_date_time",
+            Map.of("type", "date"), "ops:Tracking_Meta", Map.of("properties", Map.of()))));
+
+    Assertions.assertEquals("keyword", types.get("lid"));
+    Assertions.assertEquals("date", types.get("pds:Time_Coordinates/pds:start_date_time"));
+    Assertions.assertEquals("object", types.get("ops:Tracking_Meta"));
+  }
+
+  @Test
+  public void testEtagOnlyChangesWithTheCatalog() {
+    SortedMap<String, String> types = MappingCatalog.parse(
+        Map.of("properties", Map.of("lid", Map.of("type", "keyword"))));
+    SortedMap<String, String> retyped = MappingCatalog.parse(
+        Map.of("properties", Map.of("lid", Map.of("type", "text"))));
+
+    Assertions.assertEquals(MappingCatalog.digest(types), MappingCatalog.digest(types));
+    Assertions.assertNotEquals(MappingCatalog.digest(types), MappingCatalog.digest(retyped));
+  }
+
+  @Test
+  public void testIfNoneMatchIsAListOfTags() {
+    String etag = "\"abc\"";
+
+    Assertions.assertTrue(MappingCatalog.matches("\"old\", \"abc\"", etag));
+    Assertions.assertTrue(MappingCatalog.matches("W/\"abc\"", etag));
+    Assertions.assertTrue(MappingCatalog.matches("*", etag));
+    Assertions.assertFalse(MappingCatalog.matches("\"abcd\"", etag));
+    Assertions.assertFalse(MappingCatalog.matches("\"ab\"", etag));
+    Assertions.assertFalse(MappingCatalog.matches(null, etag));
+  }
+}
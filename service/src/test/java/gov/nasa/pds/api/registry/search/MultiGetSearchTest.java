@@ -0,0 +1,21 @@
+package gov.nasa.pds.api.registry.search;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MultiGetSearchTest {
+
+  @Test
+  public void testOnlyUnaskedFilterFieldsAreStripped() {
+    Set<String> stripped = MultiGetSearch.criteriaOnly(RequestBuildContextFactory.given(true,
+        Arrays.asList("title", "ops:Tracking_Meta/ops:archive_status")));
+
+    Assertions.assertFalse(stripped.isEmpty());
+    Assertions.assertFalse(stripped.contains("title"));
+    Assertions.assertFalse(stripped.contains("ops:Tracking_Meta/ops:archive_status"));
+    Assertions.assertTrue(MultiGetSearch.criteriaOnly(RequestBuildContextFactory.empty()).isEmpty());
+  }
+}
@@ -0,0 +1,43 @@
+package gov.nasa.pds.api.registry.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+
+public class SearchCacheTest {
+
+  private static SearchRequest request(int from) {
+    return new SearchRequest("registry").source(new SearchSourceBuilder()
+        .query(QueryBuilders.termQuery("product_class", "Product_Collection")).from(from).size(10));
+  }
+
+  @AfterEach
+  public void disable() {
+    SearchCache.configure(0L, 0, 10, true);
+  }
+
+  @Test
+  public void testKeyIsCanonical() {
+    SearchCache.configure(1024L * 1024L, 60, 10, false);
+    Assertions.assertEquals(SearchCache.key(request(0)), SearchCache.key(request(0)));
+    Assertions.assertNotEquals(SearchCache.key(request(0)), SearchCache.key(request(10)));
+    Assertions.assertTrue(SearchCache.key(request(0)).startsWith("registry\n"));
+  }
+
+  @Test
+  public void testUncacheableRequests() {
+    SearchRequest pit = request(0);
+    pit.source().pointInTimeBuilder(new PointInTimeBuilder("pit"));
+
+    SearchCache.configure(1024L * 1024L, 60, 10, false);
+    Assertions.assertNull(SearchCache.key(pit));
+    SearchCache.configure(0L, 60, 10, true);
+    Assertions.assertNotNull(SearchCache.key(request(0)), "coalescing still needs keys");
+    SearchCache.configure(0L, 60, 10, false);
+    Assertions.assertNull(SearchCache.key(request(0)), "a disabled cache has no keys");
+  }
+}